@@ -3,10 +3,12 @@ val assertj_version: String by project
 val lombok_version: String by project
 val jetbrains_annotations_version: String by project
 val mockito_version: String by project
+val jmh_version: String by project
 
 
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 group = "geektime.tdd.args"
@@ -27,6 +29,7 @@ dependencies {
     }
 
     testImplementation("org.mockito:mockito-junit-jupiter:$mockito_version")
+    testAnnotationProcessor(project(":processor"))
 
 
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:$junit_jupiter_version")
@@ -35,3 +38,9 @@ dependencies {
 tasks.getByName<Test>("test") {
     useJUnitPlatform()
 }
+
+jmh {
+    jmhVersion.set(jmh_version)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
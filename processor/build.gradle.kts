@@ -0,0 +1,10 @@
+plugins {
+    id("java")
+}
+
+group = "geektime.tdd.args"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
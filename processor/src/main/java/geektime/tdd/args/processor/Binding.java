@@ -0,0 +1,12 @@
+package geektime.tdd.args.processor;
+
+/**
+ * 构造器参数与选项标识的绑定
+ *
+ * @param option 选项标识
+ * @param type   参数值类型
+ * @author 李小平
+ */
+record Binding(String option, ValueType type) {
+
+}
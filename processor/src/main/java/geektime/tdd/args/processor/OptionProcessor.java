@@ -0,0 +1,235 @@
+package geektime.tdd.args.processor;
+
+import geektime.tdd.args.processor.ViewSource.Property;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * 为标注了 <code>@GenerateParser</code> 的类生成命令行参数解释器
+ * <p>
+ * 对标注了 <code>@GenerateParser</code> 的类 <code>Xxx</code> 生成同包下的 <code>XxxArgsParser</code>
+ * （嵌套类以 <code>_</code> 连接外部类名），
+ * 其 <code>parse(String...)</code> 方法按选项标识分派、直接解释基本类型并直接调用构造器，
+ * 运行时不需要任何反射。语义与 <code>Args.parse</code> 一致：选项标识语法
+ * （<code>-p</code>、<code>--port</code>、<code>--port=8080</code>、布尔选项合写、<code>--</code> 终止符）、
+ * 重复选项以第一次出现为准、错误类型及出错位置都相同，同样不展开 <code>@path</code> 参数文件。
+ * 没有标注的类不生成解释器，也不产生任何诊断信息；标注了但无法生成时编译报错。
+ * <p>
+ * 对方法标注了 <code>@Option</code> 的接口 <code>Xxx</code> 生成同包下的实现类 <code>XxxImpl</code>，
+ * <code>Args.parse(Xxx.class, ...)</code> 通过其构造器绑定选项值。
+ *
+ * @author 李小平
+ */
+@SupportedAnnotationTypes({OptionProcessor.OPTION, OptionProcessor.GENERATE_PARSER})
+public class OptionProcessor extends AbstractProcessor {
+
+  static final String OPTION = "geektime.tdd.args.annotation.Option";
+  static final String GENERATE_PARSER = "geektime.tdd.args.annotation.GenerateParser";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    final Set<TypeElement> optionsClasses = new LinkedHashSet<>();
+    final Set<TypeElement> views = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      final var generateParser = annotation.getQualifiedName().contentEquals(GENERATE_PARSER);
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        final var enclosing = element.getEnclosingElement();
+        if (generateParser) {
+          optionsClasses.add((TypeElement) element);
+        } else if (element.getKind() == ElementKind.METHOD
+            && enclosing.getKind() == ElementKind.INTERFACE) {
+          views.add((TypeElement) enclosing);
+        }
+      }
+    }
+
+    for (TypeElement optionsClass : optionsClasses) {
+      final var constructor = constructorOf(optionsClass);
+      final var bindings = constructor == null ? null : bindingsOf(constructor);
+      if (bindings != null) {
+        generate(optionsClass, bindings);
+      }
+    }
+    for (TypeElement view : views) {
+      final var properties = propertiesOf(view);
+      if (properties != null) {
+        generateView(view, properties);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 查找目标对象类中参数标注了 <code>@Option</code> 的构造器，与运行时一样只能有一个构造器，
+   * 没有时报错并返回null
+   */
+  private ExecutableElement constructorOf(TypeElement optionsClass) {
+    if (optionsClass.getKind() != ElementKind.CLASS
+        && optionsClass.getKind() != ElementKind.RECORD) {
+      error(optionsClass, "@GenerateParser只能标注在类上");
+      return null;
+    }
+    final var constructors = ElementFilter.constructorsIn(optionsClass.getEnclosedElements());
+    if (constructors.size() != 1) {
+      error(optionsClass, "目标对象类只能有一个构造器");
+      return null;
+    }
+    return constructors.get(0);
+  }
+
+  /**
+   * 解析接口方法，不支持生成实现类时给出警告并返回null
+   */
+  private List<Property> propertiesOf(TypeElement view) {
+    if (view.getModifiers().contains(Modifier.PRIVATE) || !view.getTypeParameters().isEmpty()) {
+      warn(view, "私有或泛型接口不生成选项视图实现");
+      return null;
+    }
+
+    final List<Property> properties = new ArrayList<>();
+    final var methods = ElementFilter.methodsIn(
+        processingEnv.getElementUtils().getAllMembers(view));
+    for (ExecutableElement method : methods) {
+      if (!method.getModifiers().contains(Modifier.ABSTRACT)) {
+        continue;
+      }
+      final var option = optionOf(method);
+      if (option == null || !method.getParameters().isEmpty()
+          || method.getReturnType().getKind() == TypeKind.VOID) {
+        warn(method, method.getSimpleName() + "不是标注了@Option的无参方法，不生成选项视图实现");
+        return null;
+      }
+      properties.add(new Property(option, method.getReturnType().toString(),
+          method.getSimpleName().toString()));
+    }
+    return properties;
+  }
+
+  /**
+   * 解析构造器参数，不支持生成解释器时报错并返回null
+   */
+  private List<Binding> bindingsOf(ExecutableElement constructor) {
+    if (constructor.getModifiers().contains(Modifier.PRIVATE)
+        || constructor.getEnclosingElement().getModifiers().contains(Modifier.PRIVATE)) {
+      error(constructor, "私有构造器不能生成命令行参数解释器");
+      return null;
+    }
+
+    final List<Binding> bindings = new ArrayList<>();
+    for (VariableElement parameter : constructor.getParameters()) {
+      final var option = optionOf(parameter);
+      if (option == null) {
+        error(parameter, parameter.getSimpleName() + "缺少@Option，不能生成命令行参数解释器");
+        return null;
+      }
+      final var type = ValueType.of(parameter.asType().toString());
+      if (type == null) {
+        error(parameter, "类型：" + parameter.asType() + "不支持生成命令行参数解释器");
+        return null;
+      }
+      bindings.add(new Binding(option, type));
+    }
+    return bindings;
+  }
+
+  private static String optionOf(Element element) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      final var annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+      if (annotationType.getQualifiedName().contentEquals(OPTION)) {
+        for (var entry : mirror.getElementValues().entrySet()) {
+          if (entry.getKey().getSimpleName().contentEquals("value")) {
+            return (String) ((AnnotationValue) entry.getValue()).getValue();
+          }
+        }
+        return "";
+      }
+    }
+    return null;
+  }
+
+  private void generate(TypeElement optionsClass, List<Binding> bindings) {
+    final var packageName = processingEnv.getElementUtils().getPackageOf(optionsClass)
+        .getQualifiedName().toString();
+    final var parserName = parserNameOf(optionsClass);
+    final var qualifiedName = packageName.isEmpty() ? parserName : packageName + "." + parserName;
+
+    final var source = new ParserSource(packageName, parserName,
+        optionsClass.getQualifiedName().toString(), bindings).toString();
+    try (Writer writer = processingEnv.getFiler()
+        .createSourceFile(qualifiedName, optionsClass).openWriter()) {
+      writer.write(source);
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR,
+          "生成命令行参数解释器失败:" + e.getMessage(), optionsClass);
+    }
+  }
+
+  private void generateView(TypeElement view, List<Property> properties) {
+    final var packageName = processingEnv.getElementUtils().getPackageOf(view)
+        .getQualifiedName().toString();
+    final var implName = flatNameOf(view) + "Impl";
+    final var qualifiedName = packageName.isEmpty() ? implName : packageName + "." + implName;
+
+    final var source = new ViewSource(packageName, implName,
+        view.getQualifiedName().toString(), properties).toString();
+    try (Writer writer = processingEnv.getFiler()
+        .createSourceFile(qualifiedName, view).openWriter()) {
+      writer.write(source);
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Kind.ERROR,
+          "生成选项视图实现失败:" + e.getMessage(), view);
+    }
+  }
+
+  /**
+   * Xxx -&gt; XxxArgsParser，Outer.Xxx -&gt; Outer_XxxArgsParser
+   */
+  static String parserNameOf(TypeElement optionsClass) {
+    return flatNameOf(optionsClass) + "ArgsParser";
+  }
+
+  /**
+   * Xxx -&gt; Xxx，Outer.Xxx -&gt; Outer_Xxx
+   */
+  private static String flatNameOf(TypeElement type) {
+    final var name = new StringBuilder(type.getSimpleName());
+    for (var enclosing = type.getEnclosingElement();
+        enclosing.getKind().isClass() || enclosing.getKind().isInterface();
+        enclosing = enclosing.getEnclosingElement()) {
+      name.insert(0, enclosing.getSimpleName() + "_");
+    }
+    return name.toString();
+  }
+
+  private void warn(Element element, String message) {
+    processingEnv.getMessager().printMessage(Kind.WARNING, message, element);
+  }
+
+  private void error(Element element, String message) {
+    processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,274 @@
+package geektime.tdd.args.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 生成的命令行参数解释器源代码
+ *
+ * @author 李小平
+ */
+final class ParserSource {
+
+  private final String packageName;
+  private final String parserName;
+  private final String optionsClassName;
+  private final List<Binding> bindings;
+  private final List<String> flags = new ArrayList<>();
+  private final StringBuilder code = new StringBuilder();
+
+  ParserSource(String packageName, String parserName, String optionsClassName,
+      List<Binding> bindings) {
+    this.packageName = packageName;
+    this.parserName = parserName;
+    this.optionsClassName = optionsClassName;
+    this.bindings = bindings;
+    for (Binding binding : bindings) {
+      if (!flags.contains(binding.option())) {
+        flags.add(binding.option());
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    code.setLength(0);
+    if (!packageName.isEmpty()) {
+      line("package %s;", packageName);
+      line("");
+    }
+    line("import geektime.tdd.args.exception.IllegalOptionValueException;");
+    line("import geektime.tdd.args.exception.InsufficientArgumentsException;");
+    line("import geektime.tdd.args.exception.TooManyArgumentsException;");
+    line("import java.util.Arrays;");
+    line("import javax.annotation.processing.Generated;");
+    line("");
+    line("/**");
+    line(" * {@link %s} 命令行参数解释器", optionsClassName);
+    line(" */");
+    line("@Generated(\"%s\")", OptionProcessor.class.getName());
+    line("public final class %s {", parserName);
+    line("");
+    line("  private static final int OPTIONS = %d;", flags.size());
+    line("");
+    line("  private %s() {", parserName);
+    line("  }");
+    line("");
+    parseMethod();
+    line("");
+    helperMethods();
+    line("}");
+    return code.toString();
+  }
+
+  private void parseMethod() {
+    line("  public static %s parse(String... args) {", optionsClassName);
+    line("    final int[] flag = new int[OPTIONS];");
+    line("    final int[] from = new int[OPTIONS];");
+    line("    final int[] to = new int[OPTIONS];");
+    line("    Arrays.fill(flag, -1);");
+    line("");
+    line("    int current = -1;");
+    line("    for (int i = 0; i < args.length; i++) {");
+    line("      final String token = args[i];");
+    line("      final boolean terminator = token.equals(\"--\");");
+    line("      if (!terminator && !isFlag(token)) {");
+    line("        continue;");
+    line("      }");
+    line("      if (current >= 0) {");
+    line("        to[current] = i;");
+    line("        current = -1;");
+    line("      }");
+    line("      if (terminator) {");
+    line("        break;");
+    line("      }");
+    line("      final int nameFrom = token.charAt(1) == '-' ? 2 : 1;");
+    line("      final int equals = nameFrom == 2 ? token.indexOf('=') : -1;");
+    line("      final int nameTo = equals < 0 ? token.length() : equals;");
+    line("      final int slot = slot(token.substring(nameFrom, nameTo));");
+    line("      if (slot >= 0) {");
+    line("        // --name=value 的值在选项标识所在位置");
+    line("        current = record(flag, from, to, slot, i, equals < 0 ? i + 1 : i, args.length);");
+    line("      } else if (nameFrom == 1 && clustered(token)) {");
+    line("        // -lvp 等同于 -l -v -p：前面的选项没有参数值，最后一个选项取其后的参数值");
+    line("        final int last = token.length() - 1;");
+    line("        for (int c = 1; c < last; c++) {");
+    line("          record(flag, from, to, slot(token.substring(c, c + 1)), i, i + 1, i + 1);");
+    line("        }");
+    line("        current = record(flag, from, to, slot(token.substring(last)), i, i + 1,");
+    line("            args.length);");
+    line("      }");
+    line("    }");
+
+    final List<String> arguments = new ArrayList<>();
+    for (int i = 0; i < bindings.size(); i++) {
+      final var value = "v" + i;
+      arguments.add(value);
+      line("");
+      binding(bindings.get(i), value);
+    }
+    line("");
+    line("    return new %s(%s);", optionsClassName, String.join(", ", arguments));
+    line("  }");
+  }
+
+  private void binding(Binding binding, String value) {
+    final var slot = flags.indexOf(binding.option());
+    final var option = literal(binding.option());
+    final var flag = "flag[" + slot + "]";
+    final var from = "from[" + slot + "]";
+    final var to = "to[" + slot + "]";
+    final var type = binding.type();
+
+    if (type == ValueType.BOOLEAN) {
+      line("    final boolean %s = %s >= 0 && arity(%s, %s, %s, %s, 0);",
+          value, flag, option, flag, from, to);
+      return;
+    }
+
+    line("    %s %s = %s;", type.typeName(), value, type.defaultValue());
+    line("    if (%s >= 0) {", flag);
+    if (!type.isList()) {
+      line("      arity(%s, %s, %s, %s, 1);", option, flag, from, to);
+      if (type.parseFunction().isEmpty()) {
+        line("      %s = value(args, %s, %s);", value, flag, from);
+      } else {
+        line("      try {");
+        line("        %s = %s(value(args, %s, %s));", value, type.parseFunction(), flag, from);
+        line("      } catch (RuntimeException e) {");
+        line("        throw illegal(%s, args, %s, %s, %s, %s, e);", option, flag, from, to, from);
+        line("      }");
+      }
+    } else if (type.parseFunction().isEmpty()) {
+      line("      list(%s, %s, %s, %s);", option, flag, from, to);
+      line("      %s = values(args, %s, %s, %s);", value, flag, from, to);
+    } else {
+      line("      list(%s, %s, %s, %s);", option, flag, from, to);
+      line("      %s = new %s[%s - %s];", value, type.componentTypeName(), to, from);
+      line("      int position = %s;", from);
+      line("      try {");
+      line("        for (; position < %s; position++) {", to);
+      line("          %s[position - %s] = %s(value(args, %s, position));",
+          value, from, type.parseFunction(), flag);
+      line("        }");
+      line("      } catch (RuntimeException e) {");
+      line("        throw illegal(%s, args, %s, %s, %s, position, e);", option, flag, from, to);
+      line("      }");
+    }
+    line("    }");
+  }
+
+  /**
+   * 生成的辅助方法与运行时的 <code>ArgumentIndex</code> 采用相同的选项标识语法
+   */
+  private void helperMethods() {
+    line("  private static int slot(String name) {");
+    line("    return switch (name) {");
+    for (int slot = 0; slot < flags.size(); slot++) {
+      line("      case %s -> %d;", literal(flags.get(slot)), slot);
+    }
+    line("      default -> -1;");
+    line("    };");
+    line("  }");
+    line("");
+    line("  private static int record(int[] flag, int[] from, int[] to, int slot, int position,");
+    line("      int valueFrom, int valueTo) {");
+    line("    if (flag[slot] >= 0) {");
+    line("      // 同一选项重复出现时，以第一次出现为准");
+    line("      return -1;");
+    line("    }");
+    line("    flag[slot] = position;");
+    line("    from[slot] = valueFrom;");
+    line("    to[slot] = valueTo;");
+    line("    return slot;");
+    line("  }");
+    line("");
+    line("  private static boolean clustered(String token) {");
+    line("    if (token.length() < 3) {");
+    line("      return false;");
+    line("    }");
+    line("    for (int c = 1; c < token.length(); c++) {");
+    line("      if (slot(token.substring(c, c + 1)) < 0) {");
+    line("        return false;");
+    line("      }");
+    line("    }");
+    line("    return true;");
+    line("  }");
+    line("");
+    line("  private static boolean isFlag(String token) {");
+    line("    final int length = token.length();");
+    line("    if (length < 2 || token.charAt(0) != '-') {");
+    line("      return false;");
+    line("    }");
+    line("    if (token.charAt(1) != '-') {");
+    line("      for (int i = 1; i < length; i++) {");
+    line("        if (!isNameStart(token.charAt(i))) {");
+    line("          return false;");
+    line("        }");
+    line("      }");
+    line("      return true;");
+    line("    }");
+    line("    if (length == 2 || !isNameStart(token.charAt(2))) {");
+    line("      return false;");
+    line("    }");
+    line("    for (int i = 3; i < length; i++) {");
+    line("      final char c = token.charAt(i);");
+    line("      if (c == '=') {");
+    line("        return true;");
+    line("      }");
+    line("      if (!(isNameStart(c) || c >= '0' && c <= '9' || c == '-')) {");
+    line("        return false;");
+    line("      }");
+    line("    }");
+    line("    return true;");
+    line("  }");
+    line("");
+    line("  private static boolean isNameStart(char c) {");
+    line("    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';");
+    line("  }");
+    line("");
+    line("  private static String value(String[] args, int flag, int position) {");
+    line("    final String token = args[position];");
+    line("    return position == flag ? token.substring(token.indexOf('=') + 1) : token;");
+    line("  }");
+    line("");
+    line("  private static String[] values(String[] args, int flag, int from, int to) {");
+    line("    final String[] values = new String[to - from];");
+    line("    for (int position = from; position < to; position++) {");
+    line("      values[position - from] = value(args, flag, position);");
+    line("    }");
+    line("    return values;");
+    line("  }");
+    line("");
+    line("  private static boolean arity(String option, int flag, int from, int to,");
+    line("      int expectedSize) {");
+    line("    if (to - from < expectedSize) {");
+    line("      throw new InsufficientArgumentsException(option, flag, true);");
+    line("    }");
+    line("    if (to - from > expectedSize) {");
+    line("      throw new TooManyArgumentsException(option, flag, true);");
+    line("    }");
+    line("    return true;");
+    line("  }");
+    line("");
+    line("  private static void list(String option, int flag, int from, int to) {");
+    line("    if (to == from) {");
+    line("      throw new InsufficientArgumentsException(option, flag, true);");
+    line("    }");
+    line("  }");
+    line("");
+    line("  private static IllegalOptionValueException illegal(String option, String[] args,");
+    line("      int flag, int from, int to, int position, RuntimeException cause) {");
+    line("    return new IllegalOptionValueException(option,");
+    line("        Arrays.asList(values(args, flag, from, to)), position, cause);");
+    line("  }");
+  }
+
+  private void line(String format, Object... args) {
+    code.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+  }
+
+  static String literal(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+}
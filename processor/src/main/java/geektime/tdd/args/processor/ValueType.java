@@ -0,0 +1,64 @@
+package geektime.tdd.args.processor;
+
+/**
+ * 支持生成解释代码的参数值类型，默认值与运行时默认注册器一致
+ *
+ * @author 李小平
+ */
+enum ValueType {
+  BOOLEAN("boolean", "false", null),
+  INT("int", "0", "Integer.parseInt"),
+  LONG("long", "0L", "Long.parseLong"),
+  DOUBLE("double", "0D", "Double.parseDouble"),
+  STRING("java.lang.String", "\"\"", ""),
+  STRING_ARRAY("java.lang.String[]", "new String[0]", ""),
+  INTEGER_ARRAY("java.lang.Integer[]", "new Integer[0]", "Integer.valueOf"),
+  INT_ARRAY("int[]", "new int[0]", "Integer.parseInt"),
+  LONG_ARRAY("long[]", "new long[0]", "Long.parseLong"),
+  DOUBLE_ARRAY("double[]", "new double[0]", "Double.parseDouble");
+
+  private final String typeName;
+  private final String defaultValue;
+  private final String parseFunction;
+
+  ValueType(String typeName, String defaultValue, String parseFunction) {
+    this.typeName = typeName;
+    this.defaultValue = defaultValue;
+    this.parseFunction = parseFunction;
+  }
+
+  static ValueType of(String typeName) {
+    for (ValueType type : values()) {
+      if (type.typeName.equals(typeName)) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  String typeName() {
+    return typeName;
+  }
+
+  String defaultValue() {
+    return defaultValue;
+  }
+
+  /**
+   * @return 单个参数值的解释函数，空字符串表示直接使用参数值
+   */
+  String parseFunction() {
+    return parseFunction;
+  }
+
+  boolean isList() {
+    return typeName.endsWith("[]");
+  }
+
+  /**
+   * @return 数组元素类型
+   */
+  String componentTypeName() {
+    return typeName.substring(0, typeName.length() - 2);
+  }
+}
@@ -0,0 +1,96 @@
+package geektime.tdd.args.processor;
+
+import java.util.List;
+
+/**
+ * 生成的选项视图实现类源代码
+ * <p>
+ * 实现类的构造器参数按接口方法标注 <code>@Option</code>，运行时与记录类一样通过构造器绑定；
+ * 选项值保存在与方法返回类型相同的字段中，基本类型不装箱，读取时直接返回字段。
+ *
+ * @author 李小平
+ */
+final class ViewSource {
+
+  private final String packageName;
+  private final String implName;
+  private final String viewName;
+  private final List<Property> properties;
+  private final StringBuilder code = new StringBuilder();
+
+  ViewSource(String packageName, String implName, String viewName, List<Property> properties) {
+    this.packageName = packageName;
+    this.implName = implName;
+    this.viewName = viewName;
+    this.properties = properties;
+  }
+
+  @Override
+  public String toString() {
+    code.setLength(0);
+    if (!packageName.isEmpty()) {
+      line("package %s;", packageName);
+      line("");
+    }
+    line("import geektime.tdd.args.annotation.Option;");
+    line("import javax.annotation.processing.Generated;");
+    line("");
+    line("/**");
+    line(" * {@link %s} 选项视图实现", viewName);
+    line(" */");
+    line("@Generated(\"%s\")", OptionProcessor.class.getName());
+    line("public final class %s implements %s {", implName, viewName);
+    line("");
+    for (Property property : properties) {
+      line("  private final %s %s;", property.type(), property.name());
+    }
+    line("");
+    line("  public %s(", implName);
+    for (int i = 0; i < properties.size(); i++) {
+      final var property = properties.get(i);
+      line("      @Option(%s) %s %s%s", ParserSource.literal(property.option()), property.type(),
+          property.name(), i + 1 < properties.size() ? "," : ") {");
+    }
+    if (properties.isEmpty()) {
+      line("      ) {");
+    }
+    for (Property property : properties) {
+      line("    this.%s = %s;", property.name(), property.name());
+    }
+    line("  }");
+    for (Property property : properties) {
+      line("");
+      line("  @Override");
+      line("  public %s %s() {", property.type(), property.name());
+      line("    return %s;", property.name());
+      line("  }");
+    }
+    line("");
+    line("  @Override");
+    line("  public String toString() {");
+    final var fields = new StringBuilder();
+    for (Property property : properties) {
+      fields.append(fields.length() == 0 ? " + \"" : " + \", ")
+          .append(property.name()).append("=\" + ").append(property.name());
+    }
+    line("    return \"%s[\"%s + \"]\";", implName, fields);
+    line("  }");
+    line("}");
+    return code.toString();
+  }
+
+  private void line(String format, Object... args) {
+    code.append(args.length == 0 ? format : String.format(format, args)).append('\n');
+  }
+
+  /**
+   * 接口中标注了 <code>@Option</code> 的方法
+   *
+   * @param option 选项标识
+   * @param type   方法返回类型
+   * @param name   方法名，也是字段及构造器参数名
+   */
+  record Property(String option, String type, String name) {
+
+  }
+}
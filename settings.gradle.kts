@@ -1 +1,2 @@
 rootProject.name = "args"
+include("processor")
@@ -0,0 +1,152 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Args.parse 热点路径基准测试
+ * <p>
+ * 运行：<code>gradle jmh</code>，吞吐量及 <code>-prof gc</code> 分配速率见 build/results/jmh
+ *
+ * @author 李小平
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArgsBenchmark {
+
+  private static final int LIST_SIZE = 100_000;
+
+  private String[] small;
+  private String[] gnuStyle;
+  private String[] wide;
+  private String[] stringList;
+  private String[] duplicatedList;
+  private String[] integerList;
+  private String[] tooMany;
+  private String[] insufficient;
+
+  @Setup
+  public void setup() {
+    small = new String[] {"-l", "-p", "8088", "-d", "/usr/logs"};
+    gnuStyle = new String[] {"-l", "--p=8088", "--d", "/usr/logs", "--", "-x"};
+
+    final var wideArguments = new ArrayList<String>();
+    for (var parameter : WideOptions.class.getDeclaredConstructors()[0].getParameters()) {
+      wideArguments.add("-" + parameter.getAnnotation(Option.class).value());
+      wideArguments.add(String.valueOf(wideArguments.size()));
+    }
+    wide = wideArguments.toArray(String[]::new);
+
+    stringList = listArguments("host-");
+    duplicatedList = new String[LIST_SIZE + 1];
+    duplicatedList[0] = "-g";
+    for (int i = 1; i <= LIST_SIZE; i++) {
+      duplicatedList[i] = "host-" + i % 100;
+    }
+    integerList = new String[LIST_SIZE + 1];
+    integerList[0] = "-d";
+    for (int i = 1; i <= LIST_SIZE; i++) {
+      integerList[i] = String.valueOf(i);
+    }
+
+    tooMany = new String[] {"-l", "-p", "8088", "8089", "-d", "/usr/logs"};
+    insufficient = new String[] {"-l", "-p", "-d", "/usr/logs"};
+  }
+
+  private static String[] listArguments(String prefix) {
+    final var arguments = new String[LIST_SIZE + 1];
+    arguments[0] = "-g";
+    for (int i = 1; i <= LIST_SIZE; i++) {
+      arguments[i] = prefix + i;
+    }
+    return arguments;
+  }
+
+  @Benchmark
+  public MultiOptions small() {
+    return Args.parse(MultiOptions.class, small);
+  }
+
+  /**
+   * 与 {@link #small()} 相同的选项，使用 <code>--name=value</code>、长选项和终止符
+   */
+  @Benchmark
+  public MultiOptions gnuStyle() {
+    return Args.parse(MultiOptions.class, gnuStyle);
+  }
+
+  @Benchmark
+  public WideOptions wide() {
+    return Args.parse(WideOptions.class, wide);
+  }
+
+  /**
+   * 200个延迟解释的选项只读取其中两个
+   */
+  @Benchmark
+  public int wideLazy() {
+    final var options = Args.parse(LazyWideOptions.class, wide);
+    return options.oaa().get() + options.ohr().get();
+  }
+
+  @Benchmark
+  public ListOptions stringList() {
+    return Args.parse(ListOptions.class, stringList);
+  }
+
+  /**
+   * 与 {@link #stringList()} 相同的参数，按紧凑存储解释
+   */
+  @Benchmark
+  public PackedListOptions packedList() {
+    return Args.parse(PackedListOptions.class, stringList);
+  }
+
+  /**
+   * 大量重复的参数值，紧凑存储只保留一份
+   */
+  @Benchmark
+  public PackedListOptions packedDuplicatedList() {
+    return Args.parse(PackedListOptions.class, duplicatedList);
+  }
+
+  @Benchmark
+  public ListOptions integerList() {
+    return Args.parse(ListOptions.class, integerList);
+  }
+
+  @Benchmark
+  public Object tooManyArguments() {
+    try {
+      return Args.parse(MultiOptions.class, tooMany);
+    } catch (TooManyArgumentsException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object insufficientArguments() {
+    try {
+      return Args.parse(MultiOptions.class, insufficient);
+    } catch (InsufficientArgumentsException e) {
+      return e;
+    }
+  }
+}
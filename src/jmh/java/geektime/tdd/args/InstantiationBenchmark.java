@@ -0,0 +1,54 @@
+package geektime.tdd.args;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 目标对象创建方式对比：反射构造器 vs 构造器方法句柄
+ *
+ * @author 李小平
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstantiationBenchmark {
+
+  private Constructor<?> constructor;
+  private MethodHandle factory;
+  private Object[] argsValues;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    constructor = MultiOptions.class.getDeclaredConstructors()[0];
+    factory = MethodHandles.lookup().unreflectConstructor(constructor)
+        .asSpreader(Object[].class, constructor.getParameterCount())
+        .asType(MethodType.methodType(Object.class, Object[].class));
+    argsValues = new Object[] {true, 8088, "/usr/logs"};
+  }
+
+  @Benchmark
+  public Object reflectiveConstructor() throws ReflectiveOperationException {
+    return constructor.newInstance(argsValues);
+  }
+
+  @Benchmark
+  public Object methodHandle() throws Throwable {
+    return (Object) factory.invokeExact(argsValues);
+  }
+}
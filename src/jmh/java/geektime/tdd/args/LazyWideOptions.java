@@ -0,0 +1,212 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+
+/**
+ * 200个延迟解释选项的宽配置对象，用于基准测试：只读取其中少数选项
+ *
+ * @author 李小平
+ */
+public record LazyWideOptions(
+    @Option("aa") Lazy<Integer> oaa,
+    @Option("ab") Lazy<Integer> oab,
+    @Option("ac") Lazy<Integer> oac,
+    @Option("ad") Lazy<Integer> oad,
+    @Option("ae") Lazy<Integer> oae,
+    @Option("af") Lazy<Integer> oaf,
+    @Option("ag") Lazy<Integer> oag,
+    @Option("ah") Lazy<Integer> oah,
+    @Option("ai") Lazy<Integer> oai,
+    @Option("aj") Lazy<Integer> oaj,
+    @Option("ak") Lazy<Integer> oak,
+    @Option("al") Lazy<Integer> oal,
+    @Option("am") Lazy<Integer> oam,
+    @Option("an") Lazy<Integer> oan,
+    @Option("ao") Lazy<Integer> oao,
+    @Option("ap") Lazy<Integer> oap,
+    @Option("aq") Lazy<Integer> oaq,
+    @Option("ar") Lazy<Integer> oar,
+    @Option("as") Lazy<Integer> oas,
+    @Option("at") Lazy<Integer> oat,
+    @Option("au") Lazy<Integer> oau,
+    @Option("av") Lazy<Integer> oav,
+    @Option("aw") Lazy<Integer> oaw,
+    @Option("ax") Lazy<Integer> oax,
+    @Option("ay") Lazy<Integer> oay,
+    @Option("az") Lazy<Integer> oaz,
+    @Option("ba") Lazy<Integer> oba,
+    @Option("bb") Lazy<Integer> obb,
+    @Option("bc") Lazy<Integer> obc,
+    @Option("bd") Lazy<Integer> obd,
+    @Option("be") Lazy<Integer> obe,
+    @Option("bf") Lazy<Integer> obf,
+    @Option("bg") Lazy<Integer> obg,
+    @Option("bh") Lazy<Integer> obh,
+    @Option("bi") Lazy<Integer> obi,
+    @Option("bj") Lazy<Integer> obj,
+    @Option("bk") Lazy<Integer> obk,
+    @Option("bl") Lazy<Integer> obl,
+    @Option("bm") Lazy<Integer> obm,
+    @Option("bn") Lazy<Integer> obn,
+    @Option("bo") Lazy<Integer> obo,
+    @Option("bp") Lazy<Integer> obp,
+    @Option("bq") Lazy<Integer> obq,
+    @Option("br") Lazy<Integer> obr,
+    @Option("bs") Lazy<Integer> obs,
+    @Option("bt") Lazy<Integer> obt,
+    @Option("bu") Lazy<Integer> obu,
+    @Option("bv") Lazy<Integer> obv,
+    @Option("bw") Lazy<Integer> obw,
+    @Option("bx") Lazy<Integer> obx,
+    @Option("by") Lazy<Integer> oby,
+    @Option("bz") Lazy<Integer> obz,
+    @Option("ca") Lazy<Integer> oca,
+    @Option("cb") Lazy<Integer> ocb,
+    @Option("cc") Lazy<Integer> occ,
+    @Option("cd") Lazy<Integer> ocd,
+    @Option("ce") Lazy<Integer> oce,
+    @Option("cf") Lazy<Integer> ocf,
+    @Option("cg") Lazy<Integer> ocg,
+    @Option("ch") Lazy<Integer> och,
+    @Option("ci") Lazy<Integer> oci,
+    @Option("cj") Lazy<Integer> ocj,
+    @Option("ck") Lazy<Integer> ock,
+    @Option("cl") Lazy<Integer> ocl,
+    @Option("cm") Lazy<Integer> ocm,
+    @Option("cn") Lazy<Integer> ocn,
+    @Option("co") Lazy<Integer> oco,
+    @Option("cp") Lazy<Integer> ocp,
+    @Option("cq") Lazy<Integer> ocq,
+    @Option("cr") Lazy<Integer> ocr,
+    @Option("cs") Lazy<Integer> ocs,
+    @Option("ct") Lazy<Integer> oct,
+    @Option("cu") Lazy<Integer> ocu,
+    @Option("cv") Lazy<Integer> ocv,
+    @Option("cw") Lazy<Integer> ocw,
+    @Option("cx") Lazy<Integer> ocx,
+    @Option("cy") Lazy<Integer> ocy,
+    @Option("cz") Lazy<Integer> ocz,
+    @Option("da") Lazy<Integer> oda,
+    @Option("db") Lazy<Integer> odb,
+    @Option("dc") Lazy<Integer> odc,
+    @Option("dd") Lazy<Integer> odd,
+    @Option("de") Lazy<Integer> ode,
+    @Option("df") Lazy<Integer> odf,
+    @Option("dg") Lazy<Integer> odg,
+    @Option("dh") Lazy<Integer> odh,
+    @Option("di") Lazy<Integer> odi,
+    @Option("dj") Lazy<Integer> odj,
+    @Option("dk") Lazy<Integer> odk,
+    @Option("dl") Lazy<Integer> odl,
+    @Option("dm") Lazy<Integer> odm,
+    @Option("dn") Lazy<Integer> odn,
+    @Option("do") Lazy<Integer> odo,
+    @Option("dp") Lazy<Integer> odp,
+    @Option("dq") Lazy<Integer> odq,
+    @Option("dr") Lazy<Integer> odr,
+    @Option("ds") Lazy<Integer> ods,
+    @Option("dt") Lazy<Integer> odt,
+    @Option("du") Lazy<Integer> odu,
+    @Option("dv") Lazy<Integer> odv,
+    @Option("dw") Lazy<Integer> odw,
+    @Option("dx") Lazy<Integer> odx,
+    @Option("dy") Lazy<Integer> ody,
+    @Option("dz") Lazy<Integer> odz,
+    @Option("ea") Lazy<Integer> oea,
+    @Option("eb") Lazy<Integer> oeb,
+    @Option("ec") Lazy<Integer> oec,
+    @Option("ed") Lazy<Integer> oed,
+    @Option("ee") Lazy<Integer> oee,
+    @Option("ef") Lazy<Integer> oef,
+    @Option("eg") Lazy<Integer> oeg,
+    @Option("eh") Lazy<Integer> oeh,
+    @Option("ei") Lazy<Integer> oei,
+    @Option("ej") Lazy<Integer> oej,
+    @Option("ek") Lazy<Integer> oek,
+    @Option("el") Lazy<Integer> oel,
+    @Option("em") Lazy<Integer> oem,
+    @Option("en") Lazy<Integer> oen,
+    @Option("eo") Lazy<Integer> oeo,
+    @Option("ep") Lazy<Integer> oep,
+    @Option("eq") Lazy<Integer> oeq,
+    @Option("er") Lazy<Integer> oer,
+    @Option("es") Lazy<Integer> oes,
+    @Option("et") Lazy<Integer> oet,
+    @Option("eu") Lazy<Integer> oeu,
+    @Option("ev") Lazy<Integer> oev,
+    @Option("ew") Lazy<Integer> oew,
+    @Option("ex") Lazy<Integer> oex,
+    @Option("ey") Lazy<Integer> oey,
+    @Option("ez") Lazy<Integer> oez,
+    @Option("fa") Lazy<Integer> ofa,
+    @Option("fb") Lazy<Integer> ofb,
+    @Option("fc") Lazy<Integer> ofc,
+    @Option("fd") Lazy<Integer> ofd,
+    @Option("fe") Lazy<Integer> ofe,
+    @Option("ff") Lazy<Integer> off,
+    @Option("fg") Lazy<Integer> ofg,
+    @Option("fh") Lazy<Integer> ofh,
+    @Option("fi") Lazy<Integer> ofi,
+    @Option("fj") Lazy<Integer> ofj,
+    @Option("fk") Lazy<Integer> ofk,
+    @Option("fl") Lazy<Integer> ofl,
+    @Option("fm") Lazy<Integer> ofm,
+    @Option("fn") Lazy<Integer> ofn,
+    @Option("fo") Lazy<Integer> ofo,
+    @Option("fp") Lazy<Integer> ofp,
+    @Option("fq") Lazy<Integer> ofq,
+    @Option("fr") Lazy<Integer> ofr,
+    @Option("fs") Lazy<Integer> ofs,
+    @Option("ft") Lazy<Integer> oft,
+    @Option("fu") Lazy<Integer> ofu,
+    @Option("fv") Lazy<Integer> ofv,
+    @Option("fw") Lazy<Integer> ofw,
+    @Option("fx") Lazy<Integer> ofx,
+    @Option("fy") Lazy<Integer> ofy,
+    @Option("fz") Lazy<Integer> ofz,
+    @Option("ga") Lazy<Integer> oga,
+    @Option("gb") Lazy<Integer> ogb,
+    @Option("gc") Lazy<Integer> ogc,
+    @Option("gd") Lazy<Integer> ogd,
+    @Option("ge") Lazy<Integer> oge,
+    @Option("gf") Lazy<Integer> ogf,
+    @Option("gg") Lazy<Integer> ogg,
+    @Option("gh") Lazy<Integer> ogh,
+    @Option("gi") Lazy<Integer> ogi,
+    @Option("gj") Lazy<Integer> ogj,
+    @Option("gk") Lazy<Integer> ogk,
+    @Option("gl") Lazy<Integer> ogl,
+    @Option("gm") Lazy<Integer> ogm,
+    @Option("gn") Lazy<Integer> ogn,
+    @Option("go") Lazy<Integer> ogo,
+    @Option("gp") Lazy<Integer> ogp,
+    @Option("gq") Lazy<Integer> ogq,
+    @Option("gr") Lazy<Integer> ogr,
+    @Option("gs") Lazy<Integer> ogs,
+    @Option("gt") Lazy<Integer> ogt,
+    @Option("gu") Lazy<Integer> ogu,
+    @Option("gv") Lazy<Integer> ogv,
+    @Option("gw") Lazy<Integer> ogw,
+    @Option("gx") Lazy<Integer> ogx,
+    @Option("gy") Lazy<Integer> ogy,
+    @Option("gz") Lazy<Integer> ogz,
+    @Option("ha") Lazy<Integer> oha,
+    @Option("hb") Lazy<Integer> ohb,
+    @Option("hc") Lazy<Integer> ohc,
+    @Option("hd") Lazy<Integer> ohd,
+    @Option("he") Lazy<Integer> ohe,
+    @Option("hf") Lazy<Integer> ohf,
+    @Option("hg") Lazy<Integer> ohg,
+    @Option("hh") Lazy<Integer> ohh,
+    @Option("hi") Lazy<Integer> ohi,
+    @Option("hj") Lazy<Integer> ohj,
+    @Option("hk") Lazy<Integer> ohk,
+    @Option("hl") Lazy<Integer> ohl,
+    @Option("hm") Lazy<Integer> ohm,
+    @Option("hn") Lazy<Integer> ohn,
+    @Option("ho") Lazy<Integer> oho,
+    @Option("hp") Lazy<Integer> ohp,
+    @Option("hq") Lazy<Integer> ohq,
+    @Option("hr") Lazy<Integer> ohr) {
+
+}
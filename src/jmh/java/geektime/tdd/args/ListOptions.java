@@ -0,0 +1,14 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+
+/**
+ * 多值选项配置对象，用于基准测试
+ *
+ * @author 李小平
+ */
+public record ListOptions(
+    @Option("g") String[] group,
+    @Option("d") Integer[] decimals) {
+
+}
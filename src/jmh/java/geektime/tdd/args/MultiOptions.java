@@ -0,0 +1,15 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+
+/**
+ * 3个选项的小配置对象，用于基准测试
+ *
+ * @author 李小平
+ */
+public record MultiOptions(
+    @Option("l") boolean logging,
+    @Option("p") int port,
+    @Option("d") String directory) {
+
+}
@@ -0,0 +1,14 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import java.util.List;
+
+/**
+ * 紧凑存储的多值选项配置对象，用于基准测试
+ *
+ * @author 李小平
+ */
+public record PackedListOptions(
+    @Option("g") List<CharSequence> group) {
+
+}
@@ -0,0 +1,212 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+
+/**
+ * 200个选项的宽配置对象，用于基准测试
+ *
+ * @author 李小平
+ */
+public record WideOptions(
+    @Option("aa") int oaa,
+    @Option("ab") int oab,
+    @Option("ac") int oac,
+    @Option("ad") int oad,
+    @Option("ae") int oae,
+    @Option("af") int oaf,
+    @Option("ag") int oag,
+    @Option("ah") int oah,
+    @Option("ai") int oai,
+    @Option("aj") int oaj,
+    @Option("ak") int oak,
+    @Option("al") int oal,
+    @Option("am") int oam,
+    @Option("an") int oan,
+    @Option("ao") int oao,
+    @Option("ap") int oap,
+    @Option("aq") int oaq,
+    @Option("ar") int oar,
+    @Option("as") int oas,
+    @Option("at") int oat,
+    @Option("au") int oau,
+    @Option("av") int oav,
+    @Option("aw") int oaw,
+    @Option("ax") int oax,
+    @Option("ay") int oay,
+    @Option("az") int oaz,
+    @Option("ba") int oba,
+    @Option("bb") int obb,
+    @Option("bc") int obc,
+    @Option("bd") int obd,
+    @Option("be") int obe,
+    @Option("bf") int obf,
+    @Option("bg") int obg,
+    @Option("bh") int obh,
+    @Option("bi") int obi,
+    @Option("bj") int obj,
+    @Option("bk") int obk,
+    @Option("bl") int obl,
+    @Option("bm") int obm,
+    @Option("bn") int obn,
+    @Option("bo") int obo,
+    @Option("bp") int obp,
+    @Option("bq") int obq,
+    @Option("br") int obr,
+    @Option("bs") int obs,
+    @Option("bt") int obt,
+    @Option("bu") int obu,
+    @Option("bv") int obv,
+    @Option("bw") int obw,
+    @Option("bx") int obx,
+    @Option("by") int oby,
+    @Option("bz") int obz,
+    @Option("ca") int oca,
+    @Option("cb") int ocb,
+    @Option("cc") int occ,
+    @Option("cd") int ocd,
+    @Option("ce") int oce,
+    @Option("cf") int ocf,
+    @Option("cg") int ocg,
+    @Option("ch") int och,
+    @Option("ci") int oci,
+    @Option("cj") int ocj,
+    @Option("ck") int ock,
+    @Option("cl") int ocl,
+    @Option("cm") int ocm,
+    @Option("cn") int ocn,
+    @Option("co") int oco,
+    @Option("cp") int ocp,
+    @Option("cq") int ocq,
+    @Option("cr") int ocr,
+    @Option("cs") int ocs,
+    @Option("ct") int oct,
+    @Option("cu") int ocu,
+    @Option("cv") int ocv,
+    @Option("cw") int ocw,
+    @Option("cx") int ocx,
+    @Option("cy") int ocy,
+    @Option("cz") int ocz,
+    @Option("da") int oda,
+    @Option("db") int odb,
+    @Option("dc") int odc,
+    @Option("dd") int odd,
+    @Option("de") int ode,
+    @Option("df") int odf,
+    @Option("dg") int odg,
+    @Option("dh") int odh,
+    @Option("di") int odi,
+    @Option("dj") int odj,
+    @Option("dk") int odk,
+    @Option("dl") int odl,
+    @Option("dm") int odm,
+    @Option("dn") int odn,
+    @Option("do") int odo,
+    @Option("dp") int odp,
+    @Option("dq") int odq,
+    @Option("dr") int odr,
+    @Option("ds") int ods,
+    @Option("dt") int odt,
+    @Option("du") int odu,
+    @Option("dv") int odv,
+    @Option("dw") int odw,
+    @Option("dx") int odx,
+    @Option("dy") int ody,
+    @Option("dz") int odz,
+    @Option("ea") int oea,
+    @Option("eb") int oeb,
+    @Option("ec") int oec,
+    @Option("ed") int oed,
+    @Option("ee") int oee,
+    @Option("ef") int oef,
+    @Option("eg") int oeg,
+    @Option("eh") int oeh,
+    @Option("ei") int oei,
+    @Option("ej") int oej,
+    @Option("ek") int oek,
+    @Option("el") int oel,
+    @Option("em") int oem,
+    @Option("en") int oen,
+    @Option("eo") int oeo,
+    @Option("ep") int oep,
+    @Option("eq") int oeq,
+    @Option("er") int oer,
+    @Option("es") int oes,
+    @Option("et") int oet,
+    @Option("eu") int oeu,
+    @Option("ev") int oev,
+    @Option("ew") int oew,
+    @Option("ex") int oex,
+    @Option("ey") int oey,
+    @Option("ez") int oez,
+    @Option("fa") int ofa,
+    @Option("fb") int ofb,
+    @Option("fc") int ofc,
+    @Option("fd") int ofd,
+    @Option("fe") int ofe,
+    @Option("ff") int off,
+    @Option("fg") int ofg,
+    @Option("fh") int ofh,
+    @Option("fi") int ofi,
+    @Option("fj") int ofj,
+    @Option("fk") int ofk,
+    @Option("fl") int ofl,
+    @Option("fm") int ofm,
+    @Option("fn") int ofn,
+    @Option("fo") int ofo,
+    @Option("fp") int ofp,
+    @Option("fq") int ofq,
+    @Option("fr") int ofr,
+    @Option("fs") int ofs,
+    @Option("ft") int oft,
+    @Option("fu") int ofu,
+    @Option("fv") int ofv,
+    @Option("fw") int ofw,
+    @Option("fx") int ofx,
+    @Option("fy") int ofy,
+    @Option("fz") int ofz,
+    @Option("ga") int oga,
+    @Option("gb") int ogb,
+    @Option("gc") int ogc,
+    @Option("gd") int ogd,
+    @Option("ge") int oge,
+    @Option("gf") int ogf,
+    @Option("gg") int ogg,
+    @Option("gh") int ogh,
+    @Option("gi") int ogi,
+    @Option("gj") int ogj,
+    @Option("gk") int ogk,
+    @Option("gl") int ogl,
+    @Option("gm") int ogm,
+    @Option("gn") int ogn,
+    @Option("go") int ogo,
+    @Option("gp") int ogp,
+    @Option("gq") int ogq,
+    @Option("gr") int ogr,
+    @Option("gs") int ogs,
+    @Option("gt") int ogt,
+    @Option("gu") int ogu,
+    @Option("gv") int ogv,
+    @Option("gw") int ogw,
+    @Option("gx") int ogx,
+    @Option("gy") int ogy,
+    @Option("gz") int ogz,
+    @Option("ha") int oha,
+    @Option("hb") int ohb,
+    @Option("hc") int ohc,
+    @Option("hd") int ohd,
+    @Option("he") int ohe,
+    @Option("hf") int ohf,
+    @Option("hg") int ohg,
+    @Option("hh") int ohh,
+    @Option("hi") int ohi,
+    @Option("hj") int ohj,
+    @Option("hk") int ohk,
+    @Option("hl") int ohl,
+    @Option("hm") int ohm,
+    @Option("hn") int ohn,
+    @Option("ho") int oho,
+    @Option("hp") int ohp,
+    @Option("hq") int ohq,
+    @Option("hr") int ohr) {
+
+}
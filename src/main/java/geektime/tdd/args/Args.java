@@ -1,19 +1,30 @@
 package geektime.tdd.args;
 
 import static geektime.tdd.args.OptionParsers.bool;
+import static geektime.tdd.args.OptionParsers.byteSize;
+import static geektime.tdd.args.OptionParsers.doubleList;
+import static geektime.tdd.args.OptionParsers.doubleUnary;
+import static geektime.tdd.args.OptionParsers.duration;
+import static geektime.tdd.args.OptionParsers.intList;
+import static geektime.tdd.args.OptionParsers.intUnary;
+import static geektime.tdd.args.OptionParsers.longList;
+import static geektime.tdd.args.OptionParsers.longUnary;
+import static geektime.tdd.args.OptionParsers.packedStrings;
+import static geektime.tdd.args.OptionParsers.parallelList;
+import static geektime.tdd.args.OptionParsers.path;
+import static geektime.tdd.args.OptionParsers.socketAddress;
 import static geektime.tdd.args.OptionParsers.unary;
+import static java.util.Map.entry;
 
-import geektime.tdd.args.annotation.Option;
-import geektime.tdd.args.exception.ArgumentParseException;
-import geektime.tdd.args.exception.LackOptionException;
-import geektime.tdd.args.exception.LackParserException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
+import geektime.tdd.args.exception.UnknownOptionException;
+import geektime.tdd.args.exception.UnknownSubcommandException;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.function.Function;
 import org.jetbrains.annotations.NotNull;
 
@@ -24,16 +35,30 @@ import org.jetbrains.annotations.NotNull;
  */
 public class Args {
 
+  /**
+   * 参数值解释器注册器，为null时使用 {@link OptionParserRegistry#global()}
+   */
   private final Map<Class<?>, OptionParser<?>> register;
-  private final List<String> arguments;
+  private final ArgumentIndex index;
+
+  /**
+   * 只遍历一次命令行参数，之后可以按多个目标对象类（例如不同的选项视图接口）解释，
+   * 各目标对象共享同一命令行参数索引，不再重复遍历命令行参数
+   *
+   * @param cmdLines 命令行参数
+   */
+  public Args(String... cmdLines) {
+    this((Map<Class<?>, OptionParser<?>>) null, cmdLines);
+  }
 
   public Args(Map<Class<?>, OptionParser<?>> register, String... cmdLines) {
     this.register = register;
-    this.arguments = List.of(cmdLines);
+    this.index = ArgumentIndex.of(cmdLines, null);
   }
 
   /**
-   * 解释命令行参数
+   * 解释命令行参数，<code>@path</code> 形式的参数按原样作为参数，不展开；
+   * 需要展开时使用 {@link ArgsParser#withResponseFiles()}
    *
    * @param optionsClass 目标对象类
    * @param cmdLines     命令行参数
@@ -41,54 +66,178 @@ public class Args {
    * @return 目标对象实例
    */
   public static <T> T parse(Class<T> optionsClass, String... cmdLines) {
-    final var args = new Args(OPTION_PARSER_REGISTER, cmdLines);
-    return args.parse(optionsClass);
+    return ArgsParser.of(optionsClass).parse(cmdLines);
   }
 
-  @NotNull
-  @SuppressWarnings("unchecked")
-  public <T> T parse(Class<T> optionsClass) {
-    try {
-      Constructor<?> constructor = optionsClass.getDeclaredConstructors()[0];
+  /**
+   * 解释命令行参数，命令行中没有的选项依次从各层选项来源取值
+   *
+   * @param optionsClass 目标对象类
+   * @param sources      命令行之下的选项来源，例如属性文件、环境变量
+   * @param cmdLines     命令行参数
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   */
+  public static <T> T parse(Class<T> optionsClass, @NotNull OptionSources sources,
+      String... cmdLines) {
+    return ArgsParser.of(optionsClass).withSources(sources).parse(cmdLines);
+  }
 
-      Object[] argsValues = Arrays.stream(constructor.getParameters()).map(
-          this::parseOptionArgument
-      ).toArray();
+  /**
+   * 解释带子命令的命令行参数：第一个参数选择子命令，其余参数按该子命令的目标对象类解释
+   *
+   * @param subcommands 子命令分派器
+   * @param cmdLines    命令行参数
+   * @return 子命令名及其目标对象实例
+   * @throws UnknownSubcommandException 命令行为空或第一个参数不是已注册的子命令
+   */
+  public static Subcommands.ParsedCommand parse(@NotNull Subcommands subcommands,
+      String... cmdLines) {
+    return subcommands.parse(cmdLines);
+  }
 
-      return (T) constructor.newInstance(argsValues);
-    } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-      throw new ArgumentParseException("命令行参数解释失败.", e);
-    }
+  /**
+   * 解释命令行参数，命令行中存在目标对象没有定义的选项标识时报错
+   *
+   * @param optionsClass 目标对象类
+   * @param cmdLines     命令行参数
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   * @throws UnknownOptionException 存在未定义的选项标识
+   */
+  public static <T> T parseStrict(Class<T> optionsClass, String... cmdLines) {
+    return ArgsParser.of(optionsClass).strict().parse(cmdLines);
   }
 
   /**
-   * 解释构造器参数对应的值
+   * 解释逐个读取的命令行参数，调用者无需先准备参数数组
+   * <p>
+   * 读取时即记录选项标识位置，但全部参数在解释完成前都保留在内存中：参数值在读完之后才按选项转换，
+   * 峰值内存与传入参数数组相同，不是流式解释。
    *
-   * @param parameter 构造器方法参数
-   * @return 构造器方法参数值
+   * @param optionsClass 目标对象类
+   * @param cmdLines     命令行参数
+   * @param <T>          目标对象类
+   * @return 目标对象实例
    */
-  private Object parseOptionArgument(Parameter parameter) {
-    Class<?> parameterType = parameter.getType();
-    Optional<OptionParser<?>> parserOptional = Optional.ofNullable(
-        register.get(parameterType));
-    return parserOptional.map(parser -> {
-      var optionOptional = Optional.ofNullable(parameter.getAnnotation(Option.class));
-      return optionOptional.map(option -> parser.parse(arguments, option))
-          .orElseThrow(() -> new LackOptionException(parameter.getName() + "缺少@Option."));
-    }).orElseThrow(() -> new LackParserException("类型：" + parameterType.getCanonicalName()
-        + "的" + parameter.getName() + "没有注册解释器"));
+  public static <T> T parse(Class<T> optionsClass,
+      @NotNull Iterator<? extends CharSequence> cmdLines) {
+    final var builder = new ArgumentIndex.Builder();
+    cmdLines.forEachRemaining(builder::add);
+    return ArgsParser.of(optionsClass).parse(builder.build());
+  }
 
+  /**
+   * 解释字符流中以空白字符分隔的命令行参数，全部参数在解释完成前都保留在内存中
+   *
+   * @param optionsClass 目标对象类
+   * @param reader       命令行参数字符流
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   */
+  public static <T> T parse(Class<T> optionsClass, @NotNull Reader reader) {
+    return parse(optionsClass, new ArgumentTokenizer(reader));
   }
 
+  /**
+   * 解释文件中以空白字符分隔的命令行参数（UTF-8编码），文件映射到内存后直接切分，
+   * 不含引号的ASCII参数不复制到堆中；每个参数的视图在解释完成前都保留在内存中
+   *
+   * @param optionsClass 目标对象类
+   * @param path         命令行参数文件
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   */
+  public static <T> T parse(Class<T> optionsClass, @NotNull Path path) {
+    final var builder = new ArgumentIndex.Builder();
+    ResponseFile.tokenize(path, builder::add);
+    return ArgsParser.of(optionsClass).parse(builder.build());
+  }
+
+  /**
+   * 解释命令行参数，参数个数、格式错误不抛出异常，而是作为解释结果返回
+   *
+   * @param optionsClass 目标对象类
+   * @param cmdLines     命令行参数
+   * @param <T>          目标对象类
+   * @return 解释结果
+   */
+  @NotNull
+  public static <T> ParseResult<T> tryParse(Class<T> optionsClass, String... cmdLines) {
+    return ArgsParser.of(optionsClass).tryParse(cmdLines);
+  }
+
+  /**
+   * 并行解释一批命令行参数，各项共享目标对象类的解释计划
+   *
+   * @param optionsClass 目标对象类
+   * @param batch        每项为一条命令行的参数
+   * @param <T>          目标对象类
+   * @return 与输入顺序一致的解释结果，某一项解释失败不影响其它项
+   * @throws NullPointerException 某一项为null
+   */
+  @NotNull
+  public static <T> List<ParseResult<T>> parseAll(Class<T> optionsClass,
+      @NotNull List<String[]> batch) {
+    return ArgsParser.of(optionsClass).parseAll(batch);
+  }
+
+  /**
+   * 按目标对象类解释构造时传入的命令行参数
+   *
+   * @param optionsClass 目标对象类，或方法标注了@Option的选项视图接口
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   */
+  @NotNull
+  public <T> T parse(Class<T> optionsClass) {
+    if (register == null) {
+      return ArgsParser.of(optionsClass).parse(index);
+    }
+    return ParsePlan.compile(optionsClass, register).parse(index);
+  }
+
+  /**
+   * 多值选项并行解释的参数值个数阈值
+   */
+  private static final int PARALLEL_THRESHOLD = 8192;
+
   /**
    * 目标对象构造器参数类型构造对应参数值解释器注册器
    */
-  private static final Map<Class<?>, OptionParser<?>> OPTION_PARSER_REGISTER = Map.of(
-      boolean.class, bool(),
-      int.class, unary(0, Integer::valueOf),
-      String.class, unary("", Function.identity()),
-      Integer[].class, OptionParsers.list(new Integer[0], Integer[]::new, Integer::parseInt),
-      String[].class, OptionParsers.list(new String[0], String[]::new, Function.identity())
+  static final Map<Class<?>, OptionParser<?>> OPTION_PARSER_REGISTER = Map.ofEntries(
+      entry(boolean.class, bool()),
+      entry(int.class, intUnary(0)),
+      entry(long.class, longUnary(0L)),
+      entry(double.class, doubleUnary(0D)),
+      entry(String.class, unary("", Function.identity())),
+      entry(Integer[].class, parallelList(
+          new Integer[0], Integer[]::new, Integer::parseInt, PARALLEL_THRESHOLD)),
+      entry(String[].class, parallelList(
+          new String[0], String[]::new, Function.identity(), PARALLEL_THRESHOLD)),
+      entry(int[].class, intList(new int[0])),
+      entry(long[].class, longList(new long[0])),
+      entry(double[].class, doubleList(new double[0])),
+      entry(Duration.class, duration()),
+      entry(ByteSize.class, byteSize()),
+      entry(Path.class, path()),
+      entry(InetSocketAddress.class, socketAddress()),
+      entry(PackedStrings.class, packedStrings())
   );
 
+  /**
+   * {@link java.util.List List&lt;T&gt;}、{@link java.util.Set Set&lt;T&gt;} 元素类型对应的参数值转换函数注册器
+   */
+  static final Map<Class<?>, Function<CharSequence, ?>> VALUE_CONVERTER_REGISTER =
+      Map.<Class<?>, Function<CharSequence, ?>>of(
+          String.class, CharSequence::toString,
+          Integer.class, NumberParsers::parseInt,
+          Long.class, NumberParsers::parseLong,
+          Double.class, NumberParsers::parseDouble,
+          Duration.class, ValueParsers::parseDuration,
+          ByteSize.class, ByteSize::parse,
+          Path.class, value -> Path.of(value.toString()),
+          InetSocketAddress.class, ValueParsers::parseSocketAddress
+      );
+
 }
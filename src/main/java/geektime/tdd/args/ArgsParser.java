@@ -0,0 +1,398 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exception.LackOptionException;
+import geektime.tdd.args.exception.LackParserException;
+import geektime.tdd.args.exception.ResponseFileException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import geektime.tdd.args.instrument.Instrumentations;
+import geektime.tdd.args.instrument.ParseInstrumentation;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 可复用的命令行参数解释器
+ * <p>
+ * 针对一个目标对象类和解释器注册器构造一次，之后可以被任意多个线程同时使用：
+ * 解释计划不可变，每次解释的中间状态只存放在当前线程的临时缓冲区中。
+ *
+ * @param <T> 目标对象类
+ * @author 李小平
+ */
+public final class ArgsParser<T> {
+
+  /**
+   * 默认注册器下各目标对象类的解释器，默认注册器有新的注册后重新编译
+   */
+  private static final ClassValue<Cache> PARSERS = new ClassValue<>() {
+    @Override
+    protected Cache computeValue(Class<?> optionsClass) {
+      return new Cache();
+    }
+  };
+
+  private final ParsePlan<T> plan;
+  private final boolean strict;
+  private final long version;
+  /**
+   * 命令行之下的选项来源，没有时为null
+   */
+  private final OptionSources sources;
+  /**
+   * 是否展开 <code>@path</code> 参数文件
+   */
+  private final boolean responseFiles;
+  private volatile Defaults defaults;
+
+  private ArgsParser(ParsePlan<T> plan, boolean strict, long version) {
+    this(plan, strict, version, null, false);
+  }
+
+  private ArgsParser(ParsePlan<T> plan, boolean strict, long version, OptionSources sources,
+      boolean responseFiles) {
+    this.plan = plan;
+    this.strict = strict;
+    this.version = version;
+    this.sources = sources;
+    this.responseFiles = responseFiles;
+  }
+
+  /**
+   * 获取使用默认注册器的解释器，同一目标对象类只构造一次
+   *
+   * @param optionsClass 目标对象类
+   * @param <T>          目标对象类
+   * @return 解释器
+   * @throws LackOptionException 构造器参数缺少@Option
+   * @throws LackParserException 构造器参数类型没有注册解释器
+   */
+  @NotNull
+  @SuppressWarnings("unchecked")
+  public static <T> ArgsParser<T> of(Class<T> optionsClass) {
+    final var registry = OptionParserRegistry.global();
+    final var version = registry.version();
+    final var cache = PARSERS.get(optionsClass);
+    final var cached = cache.parser;
+    var parser = cached == null ? null : cached.get();
+    if (parser == null || parser.version != version) {
+      parser = new ArgsParser<>(ParsePlan.compile(optionsClass, registry), false, version);
+      cache.parser = new SoftReference<>(parser);
+    }
+    return (ArgsParser<T>) parser;
+  }
+
+  /**
+   * 构造使用指定注册器的解释器
+   *
+   * @param optionsClass 目标对象类
+   * @param registry     参数值解释器注册器
+   * @param <T>          目标对象类
+   * @return 解释器
+   * @throws LackOptionException 构造器参数缺少@Option
+   * @throws LackParserException 构造器参数类型没有注册解释器
+   */
+  @NotNull
+  public static <T> ArgsParser<T> of(Class<T> optionsClass,
+      @NotNull OptionParserRegistry registry) {
+    return new ArgsParser<>(ParsePlan.compile(optionsClass, registry), false, registry.version());
+  }
+
+  /**
+   * 构造使用指定注册器的解释器
+   *
+   * @param optionsClass 目标对象类
+   * @param register     参数值解释器注册器
+   * @param <T>          目标对象类
+   * @return 解释器
+   */
+  @NotNull
+  static <T> ArgsParser<T> of(Class<T> optionsClass, Map<Class<?>, OptionParser<?>> register) {
+    return new ArgsParser<>(ParsePlan.compile(optionsClass, register), false, 0L);
+  }
+
+  /**
+   * @return 命令行中存在目标对象没有定义的选项标识时报错 {@link UnknownOptionException} 的解释器
+   */
+  @NotNull
+  public ArgsParser<T> strict() {
+    return strict ? this : new ArgsParser<>(plan, true, version, sources, responseFiles);
+  }
+
+  /**
+   * 命令行中没有的选项依次从各层选项来源取值，例如属性文件、环境变量
+   *
+   * @param sources 选项来源
+   * @return 解释器
+   */
+  @NotNull
+  public ArgsParser<T> withSources(@NotNull OptionSources sources) {
+    return new ArgsParser<>(plan, strict, version, sources, responseFiles);
+  }
+
+  /**
+   * 展开命令行中 <code>@path</code> 形式的参数为参数文件中的命令行参数，<code>@@x</code> 转义为参数
+   * <code>@x</code>。默认不展开，因为不可信的命令行可以借此读取任意文件；只在命令行来自可信的使用者时启用
+   *
+   * @return 解释器
+   */
+  @NotNull
+  public ArgsParser<T> withResponseFiles() {
+    return responseFiles ? this : new ArgsParser<>(plan, strict, version, sources, true);
+  }
+
+  /**
+   * 解释命令行参数
+   *
+   * @param cmdLines 命令行参数
+   * @return 目标对象实例
+   * @throws ResponseFileException 启用 {@link #withResponseFiles()} 时参数文件读取失败
+   */
+  @NotNull
+  public T parse(String... cmdLines) {
+    return parse((CharSequence[]) cmdLines);
+  }
+
+  /**
+   * 只解释从指定位置开始的命令行参数，之前的参数只作为占位，
+   * 出错位置仍按完整的命令行计算，例如子命令名之后的参数
+   *
+   * @param cmdLines 完整的命令行参数
+   * @param from     开始解释的位置
+   * @return 目标对象实例
+   */
+  @NotNull
+  T parse(String[] cmdLines, int from) {
+    final var arguments = new CharSequence[cmdLines.length];
+    for (int i = 0; i < from; i++) {
+      arguments[i] = ArgumentIndex.literal(cmdLines[i]);
+    }
+    System.arraycopy(cmdLines, from, arguments, from, cmdLines.length - from);
+    return parse(arguments);
+  }
+
+  private T parse(CharSequence[] cmdLines) {
+    final var tokenizeStart = tokenizeStart();
+    final var scratch = ParseScratch.acquire();
+    try {
+      return plan.parse(index(cmdLines, scratch, false), strict, tokenizeStart);
+    } finally {
+      scratch.release();
+    }
+  }
+
+  /**
+   * 解释命令行参数，参数个数、格式错误及参数文件读取失败不抛出异常，而是作为解释结果返回
+   *
+   * @param cmdLines 命令行参数
+   * @return 解释结果
+   */
+  @NotNull
+  public ParseResult<T> tryParse(String... cmdLines) {
+    final var tokenizeStart = tokenizeStart();
+    final var scratch = ParseScratch.acquire();
+    try {
+      return plan.tryParse(index(cmdLines, scratch, true), strict, tokenizeStart);
+    } catch (ParseFailure e) {
+      return ParseResult.failure(e.error());
+    } finally {
+      scratch.release();
+    }
+  }
+
+  /**
+   * 在公共 {@link ForkJoinPool} 上并行解释一批命令行参数
+   *
+   * @param batch 每项为一条命令行的参数
+   * @return 与输入顺序一致的解释结果，某一项解释失败不影响其它项
+   */
+  @NotNull
+  public List<ParseResult<T>> parseAll(@NotNull List<String[]> batch) {
+    return parseAll(batch, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 在指定的 {@link ForkJoinPool} 上并行解释一批命令行参数，各项共享本解释器的解释计划
+   *
+   * @param batch 每项为一条命令行的参数
+   * @param pool  执行解释的线程池
+   * @return 与输入顺序一致的解释结果，某一项解释失败不影响其它项；
+   *     目标对象构造器等抛出的其它异常也记录为该项的失败结果，见 {@link ParseResult#exception()}
+   * @throws NullPointerException 某一项为null，此时不解释任何一项
+   */
+  @NotNull
+  public List<ParseResult<T>> parseAll(@NotNull List<String[]> batch,
+      @NotNull ForkJoinPool pool) {
+    final var items = batch.toArray(String[][]::new);
+    for (int i = 0; i < items.length; i++) {
+      Objects.requireNonNull(items[i], "第" + i + "项命令行参数为null");
+    }
+    final var results = new ParseResult<?>[items.length];
+    if (items.length > 0) {
+      final var threshold = Math.max(1, items.length / (pool.getParallelism() * 4));
+      pool.invoke(new BatchTask(items, results, 0, items.length, threshold));
+    }
+    @SuppressWarnings("unchecked")
+    final var list = (List<ParseResult<T>>) (List<?>) Arrays.asList(results);
+    return Collections.unmodifiableList(list);
+  }
+
+  /**
+   * 并行解释一批命令行参数
+   *
+   * @param batch 每项为一条命令行的参数
+   * @return 与输入顺序一致的解释结果，某一项解释失败不影响其它项
+   */
+  @NotNull
+  public List<ParseResult<T>> parseAll(@NotNull Stream<String[]> batch) {
+    return parseAll(batch.toList());
+  }
+
+  /**
+   * @return 目标对象实例能否被多个调用者共享：有数组类型的选项时不能，数组可以被修改
+   */
+  boolean shareable() {
+    return !plan.hasArrays();
+  }
+
+  /**
+   * 解释命令行参数并保留快照，之后可以用 {@link ParseSnapshot#reparse(String...)}
+   * 只重新解释有变化的选项
+   *
+   * @param cmdLines 命令行参数
+   * @return 快照
+   */
+  @NotNull
+  public ParseSnapshot<T> snapshot(String... cmdLines) {
+    return ParseSnapshot.of(this, plan, strict, cmdLines);
+  }
+
+  /**
+   * 叠加选项来源，按需展开参数文件，建立命令行参数索引
+   *
+   * @param cmdLines          命令行参数
+   * @param scratch           临时缓冲区，为null时分配新的缓冲区
+   * @param stacklessFailures 参数文件读取失败时是否抛出不采集调用栈的 {@link ParseFailure}
+   * @return 命令行参数索引
+   */
+  @NotNull
+  ArgumentIndex index(CharSequence[] cmdLines, ParseScratch scratch, boolean stacklessFailures) {
+    final var arguments = layered(cmdLines);
+    return responseFiles
+        ? ArgumentIndex.expanded(arguments, scratch, stacklessFailures)
+        : ArgumentIndex.of(arguments, scratch);
+  }
+
+  /**
+   * 在命令行参数之后（<code>--</code> 终止符之前）追加各层选项来源的参数；
+   * 选项以第一次出现为准，因此命令行优先
+   */
+  private CharSequence[] layered(CharSequence[] cmdLines) {
+    if (sources == null) {
+      return cmdLines;
+    }
+    final var states = sources.states();
+    var current = defaults;
+    if (current == null || !current.matches(states)) {
+      current = new Defaults(states,
+          sources.arguments(states, plan.options(), plan.switches(), plan.lists()));
+      defaults = current;
+    }
+    if (current.arguments.length == 0) {
+      return cmdLines;
+    }
+    int end = 0;
+    while (end < cmdLines.length && !ArgumentIndex.isTerminator(cmdLines[end])) {
+      end++;
+    }
+    final var extra = current.arguments.length;
+    final var arguments = new CharSequence[cmdLines.length + extra];
+    System.arraycopy(cmdLines, 0, arguments, 0, end);
+    System.arraycopy(current.arguments, 0, arguments, end, extra);
+    System.arraycopy(cmdLines, end, arguments, end + extra, cmdLines.length - end);
+    return arguments;
+  }
+
+  /**
+   * @return 启用埋点时为当前时间，否则为0，不读取时钟
+   */
+  private static long tokenizeStart() {
+    return Instrumentations.current() == ParseInstrumentation.NOOP ? 0L : System.nanoTime();
+  }
+
+  @NotNull
+  T parse(ArgumentIndex index) {
+    return plan.parse(index, strict);
+  }
+
+  /**
+   * 按区间二分的批量解释任务，每个结果只由一个线程写入对应下标
+   */
+  private final class BatchTask extends RecursiveAction {
+
+    private final String[][] items;
+    private final ParseResult<?>[] results;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    private BatchTask(String[][] items, ParseResult<?>[] results, int from, int to,
+        int threshold) {
+      this.items = items;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = from; i < to; i++) {
+          try {
+            results[i] = tryParse(items[i]);
+          } catch (RuntimeException e) {
+            results[i] = ParseResult.failure(e);
+          }
+        }
+        return;
+      }
+      final var middle = (from + to) >>> 1;
+      invokeAll(new BatchTask(items, results, from, middle, threshold),
+          new BatchTask(items, results, middle, to, threshold));
+    }
+  }
+
+  /**
+   * 按选项来源各层状态生成的参数，各层都没有变化时复用
+   */
+  private record Defaults(Object[] states, CharSequence[] arguments) {
+
+    private boolean matches(Object[] current) {
+      for (int i = 0; i < states.length; i++) {
+        if (states[i] != current[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * 目标对象类对应的解释器缓存
+   */
+  private static final class Cache {
+
+    /**
+     * 解释计划引用目标对象类及其类加载器（例如插件、子命令的类加载器），按该类保存时只软引用，
+     * 内存不足时可以被回收，之后再用到时重新编译
+     */
+    private volatile SoftReference<ArgsParser<?>> parser;
+  }
+}
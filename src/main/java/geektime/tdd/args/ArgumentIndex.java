@@ -0,0 +1,590 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.ResponseFileException;
+import java.nio.CharBuffer;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 命令行参数索引
+ * <p>
+ * 只遍历一次命令行参数，记录选项标识所在位置；再按 {@link FlagTable} 对选项标识分类，
+ * 建立 选项标识 -&gt; 参数值区间 的索引，各个选项解释器直接取用切分好的参数值，无需重复扫描命令行。
+ * 命令行参数可以是任意 {@link CharSequence}（例如内存映射文件上的视图），
+ * 只在解释器需要时才转换为 {@link String}。
+ * <p>
+ * 选项标识支持 <code>-p</code>、<code>--port</code>、<code>--port=8080</code>、
+ * 布尔选项合写（<code>-lv</code> 等同于 <code>-l -v</code>，只在 <code>lv</code> 本身不是选项标识时展开），
+ * 以及 <code>--</code> 终止符：其后的参数都不再作为选项标识。全部由手写的字符扫描完成，
+ * <code>name=value</code> 按下标切分，值以原参数上的视图返回，不截取子串。
+ *
+ * @author 李小平
+ */
+final class ArgumentIndex {
+
+  private final List<? extends CharSequence> arguments;
+  /**
+   * 选项标识在命令行参数中的位置，升序
+   */
+  private final int[] flags;
+  private final int flagCount;
+  private boolean stacklessFailures;
+  /**
+   * 临时缓冲区，没有时为null；使用临时缓冲区的索引只属于一次解释过程，分类等操作直接修改本索引
+   */
+  private final ParseScratch scratch;
+
+  /**
+   * 分派表，未按分派表分类时为null
+   */
+  private FlagTable table;
+  /**
+   * 按标识编号存放的参数值区间，选项不存在时为null
+   */
+  private Range[] ranges;
+  /**
+   * 第一个未知选项标识的位置，没有时为-1
+   */
+  private int unknownFlag = -1;
+
+  private ArgumentIndex(List<? extends CharSequence> arguments, int[] flags, int flagCount,
+      boolean stacklessFailures, ParseScratch scratch) {
+    this.arguments = arguments;
+    this.flags = flags;
+    this.flagCount = flagCount;
+    this.stacklessFailures = stacklessFailures;
+    this.scratch = scratch;
+  }
+
+  /**
+   * 遍历命令行参数，建立选项参数值索引
+   *
+   * @param arguments 命令行参数列表
+   * @return 命令行参数索引
+   */
+  @NotNull
+  static ArgumentIndex of(@NotNull List<? extends CharSequence> arguments) {
+    final var builder = new Builder(arguments);
+    final var size = arguments.size();
+    for (int position = 0; position < size; position++) {
+      builder.index(arguments.get(position), position);
+    }
+    return builder.build();
+  }
+
+  /**
+   * 遍历命令行参数，建立选项参数值索引；<code>@path</code> 形式的参数不展开，按原样作为参数，
+   * {@link #literal(String)} 构造的参数只作为参数值
+   *
+   * @param cmdLines 命令行参数
+   * @param scratch  临时缓冲区，在索引使用完之前不能释放；为null时分配新的缓冲区
+   * @return 命令行参数索引
+   */
+  @NotNull
+  static ArgumentIndex of(@NotNull CharSequence[] cmdLines, ParseScratch scratch) {
+    final var arguments = Arrays.asList(cmdLines);
+    if (scratch == null) {
+      return of(arguments);
+    }
+
+    var flags = scratch.flags();
+    int flagCount = 0;
+    for (int position = 0; position < cmdLines.length; position++) {
+      final var token = cmdLines[position];
+      if (token instanceof Literal) {
+        continue;
+      }
+      final var terminator = isTerminator(token);
+      if (terminator || isFlag(token)) {
+        if (flagCount == flags.length) {
+          flags = scratch.growFlags();
+        }
+        flags[flagCount++] = position;
+      }
+      if (terminator) {
+        break;
+      }
+    }
+    return new ArgumentIndex(arguments, flags, flagCount, false, scratch);
+  }
+
+  /**
+   * 构造只包含一个选项参数值区间的索引，不引用临时缓冲区，供延迟解释的选项使用
+   *
+   * @param arguments 命令行参数列表
+   * @param option    目标对象属性标注
+   * @param range     参数值区间，选项不存在时为null
+   * @return 命令行参数索引
+   */
+  @NotNull
+  static ArgumentIndex detached(@NotNull List<? extends CharSequence> arguments,
+      @NotNull Option option, Range range) {
+    // 保留选项标识位置，--name=value 的值仍从选项标识中取
+    final var flags = range == null ? new int[0] : new int[] {range.flag()};
+    final var index = new ArgumentIndex(arguments, flags, flags.length, false, null);
+    index.table = FlagTable.of(List.of(option.value()));
+    index.ranges = new Range[] {range};
+    return index;
+  }
+
+  /**
+   * 构造只作为参数值的命令行参数：不作为选项标识，也不展开为参数文件，
+   * 例如选项来源中以 <code>-</code> 或 <code>@</code> 开头的值
+   *
+   * @param value 参数值
+   * @return 命令行参数
+   */
+  @NotNull
+  static CharSequence literal(@NotNull String value) {
+    return new Literal(value);
+  }
+
+  /**
+   * 遍历命令行参数，建立选项参数值索引，<code>--</code> 终止符之前 <code>@path</code>
+   * 形式的参数展开为参数文件中的命令行参数（不再递归展开），<code>@@x</code> 转义为参数 <code>@x</code>
+   *
+   * @param cmdLines          命令行参数
+   * @param scratch           临时缓冲区，在索引使用完之前不能释放；为null时分配新的缓冲区
+   * @param stacklessFailures 参数文件读取失败时是否抛出不采集调用栈的 {@link ParseFailure}
+   * @return 命令行参数索引
+   * @throws ResponseFileException 参数文件读取或切分失败
+   */
+  @NotNull
+  static ArgumentIndex expanded(@NotNull CharSequence[] cmdLines, ParseScratch scratch,
+      boolean stacklessFailures) {
+    for (var cmdLine : cmdLines) {
+      if (isTerminator(cmdLine)) {
+        break;
+      }
+      if (isReference(cmdLine)) {
+        return expand(cmdLines, stacklessFailures);
+      }
+    }
+    return of(cmdLines, scratch);
+  }
+
+  private static boolean isReference(CharSequence token) {
+    return !(token instanceof Literal) && ResponseFile.isReference(token);
+  }
+
+  private static ArgumentIndex expand(CharSequence[] cmdLines, boolean stacklessFailures) {
+    final var builder = new Builder();
+    for (int position = 0; position < cmdLines.length; position++) {
+      final var cmdLine = cmdLines[position];
+      if (builder.terminated || !isReference(cmdLine)) {
+        builder.add(cmdLine);
+      } else if (cmdLine.charAt(1) == ResponseFile.PREFIX) {
+        builder.add(literal(cmdLine.subSequence(1, cmdLine.length()).toString()));
+      } else {
+        final var path = cmdLine.subSequence(1, cmdLine.length()).toString();
+        try {
+          ResponseFile.tokenize(Path.of(path), builder::add);
+        } catch (ArgumentParseException | InvalidPathException e) {
+          final var error = new ParseError(cmdLine.toString(), ErrorKind.RESPONSE_FILE, position,
+              List.of(path), e.getCause() == null ? e : e.getCause());
+          throw stacklessFailures ? new ParseFailure(error) : error.toException();
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * 解释失败时只抛出不采集调用栈的 {@link ParseFailure}：使用临时缓冲区的索引直接修改并返回本索引，
+   * 否则返回共享同一索引的副本
+   *
+   * @return 命令行参数索引
+   */
+  @NotNull
+  ArgumentIndex withStacklessFailures() {
+    if (scratch != null) {
+      stacklessFailures = true;
+      return this;
+    }
+    final var index = new ArgumentIndex(arguments, flags, flagCount, true, null);
+    index.table = table;
+    index.ranges = ranges;
+    index.unknownFlag = unknownFlag;
+    return index;
+  }
+
+  /**
+   * 按目标对象的分派表对选项标识分类，只遍历选项标识，不再遍历参数值；
+   * 使用临时缓冲区的索引直接在本索引上分类，不分配新的索引
+   *
+   * @param table 选项标识分派表
+   * @return 命令行参数索引
+   */
+  @NotNull
+  ArgumentIndex bind(@NotNull FlagTable table) {
+    if (this.table == table) {
+      return this;
+    }
+
+    final var index = scratch == null
+        ? new ArgumentIndex(arguments, flags, flagCount, stacklessFailures, null) : this;
+    index.table = table;
+    index.ranges = scratch == null ? new Range[table.size()] : scratch.ranges(table.size());
+    index.unknownFlag = -1;
+    for (int i = 0; i < flagCount; i++) {
+      final var position = flags[i];
+      final var token = arguments.get(position);
+      if (isTerminator(token)) {
+        continue;
+      }
+      final var to = i + 1 < flagCount ? flags[i + 1] : arguments.size();
+      final var nameFrom = nameFrom(token);
+      final var nameTo = nameTo(token);
+      final var slot = table.find(token, nameFrom, nameTo);
+      if (slot != FlagTable.UNKNOWN) {
+        // --name=value 的值在选项标识所在位置
+        index.range(slot,
+            new Range(position, nameTo < token.length() ? position : position + 1, to));
+      } else if (!(nameFrom == 1 && index.cluster(token, position, to))
+          && index.unknownFlag < 0) {
+        index.unknownFlag = position;
+      }
+    }
+    return index;
+  }
+
+  /**
+   * 同一选项重复出现时，以第一次出现为准
+   */
+  private void range(int slot, Range range) {
+    if (ranges[slot] == null) {
+      ranges[slot] = range;
+    }
+  }
+
+  /**
+   * 把 <code>-lvp</code> 展开为 <code>-l -v -p</code>：前面的选项没有参数值，最后一个选项取其后的参数值
+   *
+   * @return 每个字符都是已知选项标识时展开并返回true，否则不做任何修改并返回false
+   */
+  private boolean cluster(CharSequence token, int position, int to) {
+    final var length = token.length();
+    if (length < 3) {
+      return false;
+    }
+    for (int i = 1; i < length; i++) {
+      if (table.find(token, i, i + 1) == FlagTable.UNKNOWN) {
+        return false;
+      }
+    }
+    for (int i = 1; i < length - 1; i++) {
+      range(table.find(token, i, i + 1), new Range(position, position + 1, position + 1));
+    }
+    range(table.find(token, length - 1, length), new Range(position, position + 1, to));
+    return true;
+  }
+
+  /**
+   * 获取选项对应的参数值列表，如果选项不存在，返回:<link>Optional.empty</link>
+   *
+   * @param option 目标对象属性标注
+   * @return 选项参数值列表（原始值）
+   */
+  @NotNull
+  Optional<List<String>> values(@NotNull Option option) {
+    final var range = range(option);
+    if (range == null) {
+      return Optional.empty();
+    }
+    return Optional.of(strings(range));
+  }
+
+  /**
+   * 获取选项对应的参数值区间，如果选项不存在，返回null。供无需创建参数值列表的解释器使用
+   *
+   * @param option 目标对象属性标注
+   * @return 参数值区间
+   */
+  Range range(@NotNull Option option) {
+    if (table == null) {
+      bindToOwnFlags();
+    }
+    final var slot = table.find(option.value());
+    return slot == FlagTable.UNKNOWN ? null : ranges[slot];
+  }
+
+  /**
+   * 没有目标对象的分派表时（例如单独使用选项解释器），以命令行中出现的全部选项标识构造分派表
+   */
+  private void bindToOwnFlags() {
+    final var names = new LinkedHashSet<String>();
+    for (int i = 0; i < flagCount; i++) {
+      final var token = arguments.get(flags[i]);
+      if (!isTerminator(token)) {
+        names.add(token.subSequence(nameFrom(token), nameTo(token)).toString());
+      }
+    }
+    final var index = bind(FlagTable.of(names));
+    this.table = index.table;
+    this.ranges = index.ranges;
+  }
+
+  /**
+   * @return 第一个未知选项标识的位置，没有时为-1
+   */
+  int unknownFlag() {
+    return unknownFlag;
+  }
+
+  /**
+   * @return 命令行参数列表
+   */
+  List<? extends CharSequence> arguments() {
+    return arguments;
+  }
+
+  /**
+   * 获取指定位置的参数值：位于选项标识位置的只可能是 <code>--name=value</code>，
+   * 取等号之后的部分（原参数上的视图）；其余位置的参数为其本身，即使内容形如 <code>--a=b</code>
+   *
+   * @param position 命令行参数位置
+   * @return 参数值
+   */
+  CharSequence token(int position) {
+    final var token = arguments.get(position);
+    final var length = token.length();
+    if (length > 3 && token.charAt(0) == '-' && token.charAt(1) == '-'
+        && Arrays.binarySearch(flags, 0, flagCount, position) >= 0) {
+      final var nameTo = nameTo(token);
+      if (nameTo < length) {
+        return CharBuffer.wrap(token, nameTo + 1, length);
+      }
+    }
+    return token;
+  }
+
+  /**
+   * 创建选项解释失败时抛出的异常
+   *
+   * @param kind     错误类型
+   * @param option   目标对象属性标注
+   * @param position 出错的命令行参数位置
+   * @param cause    参数值解释器抛出的异常
+   * @return 异常
+   */
+  @NotNull
+  RuntimeException failure(ErrorKind kind, Option option, int position, Throwable cause) {
+    return failure(kind, option.value(), range(option), position, cause);
+  }
+
+  /**
+   * 创建命令行中存在未知选项标识时抛出的异常
+   *
+   * @return 异常
+   */
+  @NotNull
+  RuntimeException unknownFlagFailure() {
+    final var token = arguments.get(unknownFlag);
+    final var next = Arrays.binarySearch(flags, 0, flagCount, unknownFlag) + 1;
+    final var to = next < flagCount ? flags[next] : arguments.size();
+    return failure(ErrorKind.UNKNOWN_OPTION,
+        token.subSequence(nameFrom(token), nameTo(token)).toString(),
+        new Range(unknownFlag, unknownFlag + 1, to), unknownFlag, null);
+  }
+
+  private RuntimeException failure(ErrorKind kind, String option, Range range, int position,
+      Throwable cause) {
+    // 复制参数值：解释完成后临时缓冲区会被复用，错误可能在此之后才被读取
+    final var error = new ParseError(option, kind, position, List.copyOf(strings(range)), cause);
+    return stacklessFailures ? new ParseFailure(error) : error.toException();
+  }
+
+  /**
+   * 判断参数是否为选项标识：<code>-name</code>（字母、下划线）或 <code>--name[=value]</code>
+   * （字母、下划线开头，其后可以有数字和 <code>-</code>）。手写扫描，无需编译正则表达式
+   *
+   * @param token 命令行参数
+   * @return 是否为选项标识
+   */
+  static boolean isFlag(@NotNull CharSequence token) {
+    final var length = token.length();
+    if (length < 2 || token.charAt(0) != '-') {
+      return false;
+    }
+    if (token.charAt(1) != '-') {
+      for (int i = 1; i < length; i++) {
+        if (!isNameStart(token.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    if (length == 2 || !isNameStart(token.charAt(2))) {
+      return false;
+    }
+    for (int i = 3; i < length; i++) {
+      final var c = token.charAt(i);
+      if (c == '=') {
+        return true;
+      }
+      if (!(isNameStart(c) || c >= '0' && c <= '9' || c == '-')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param token 命令行参数
+   * @return 是否为 <code>--</code> 终止符
+   */
+  static boolean isTerminator(@NotNull CharSequence token) {
+    return token.length() == 2 && token.charAt(0) == '-' && token.charAt(1) == '-';
+  }
+
+  private static boolean isNameStart(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+  }
+
+  /**
+   * @param flag 选项标识
+   * @return 选项标识中名称的起始位置
+   */
+  private static int nameFrom(CharSequence flag) {
+    return flag.length() > 1 && flag.charAt(1) == '-' ? 2 : 1;
+  }
+
+  /**
+   * @param flag 选项标识
+   * @return 选项标识中名称的结束位置：<code>=</code> 的位置，没有时为长度
+   */
+  private static int nameTo(CharSequence flag) {
+    final var length = flag.length();
+    if (nameFrom(flag) == 2) {
+      for (int i = 2; i < length; i++) {
+        if (flag.charAt(i) == '=') {
+          return i;
+        }
+      }
+    }
+    return length;
+  }
+
+  /**
+   * 逐个追加命令行参数，追加时即记录选项标识位置，无需先准备好完整的命令行参数数组；
+   * 追加的参数全部保存在列表中，供解释时按区间取用
+   */
+  static final class Builder {
+
+    private final List<? extends CharSequence> arguments;
+    private final List<CharSequence> appendable;
+    private int[] flags = new int[8];
+    private int flagCount;
+    /**
+     * 是否已经读到 <code>--</code> 终止符
+     */
+    private boolean terminated;
+
+    Builder() {
+      this.appendable = new ArrayList<>();
+      this.arguments = appendable;
+    }
+
+    private Builder(List<? extends CharSequence> arguments) {
+      this.appendable = null;
+      this.arguments = arguments;
+    }
+
+    /**
+     * 追加命令行参数，参数按原样保存，在解释完成前不能被修改
+     *
+     * @param token 命令行参数
+     * @return this
+     */
+    @NotNull
+    Builder add(@NotNull CharSequence token) {
+      appendable.add(token);
+      index(token, appendable.size() - 1);
+      return this;
+    }
+
+    private void index(CharSequence token, int position) {
+      if (terminated || token instanceof Literal) {
+        return;
+      }
+      terminated = isTerminator(token);
+      if (terminated || isFlag(token)) {
+        if (flagCount == flags.length) {
+          flags = Arrays.copyOf(flags, flagCount * 2);
+        }
+        flags[flagCount++] = position;
+      }
+    }
+
+    @NotNull
+    ArgumentIndex build() {
+      return new ArgumentIndex(arguments, flags, flagCount, false, null);
+    }
+  }
+
+  /**
+   * 以 {@link String} 列表的形式查看区间内的命令行参数，读取时才转换
+   */
+  private List<String> strings(Range range) {
+    return new AbstractList<>() {
+      @Override
+      public String get(int i) {
+        return token(range.from + Objects.checkIndex(i, size())).toString();
+      }
+
+      @Override
+      public int size() {
+        return range.size();
+      }
+    };
+  }
+
+  /**
+   * 只作为参数值的命令行参数
+   */
+  private record Literal(String value) implements CharSequence {
+
+    @Override
+    public int length() {
+      return value.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return value.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return value.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return value;
+    }
+  }
+
+  /**
+   * 选项参数值在命令行参数列表中的区间 [from, to)
+   *
+   * @param flag 选项标识的位置，<code>--name=value</code> 时与from相同
+   */
+  record Range(int flag, int from, int to) {
+
+    int size() {
+      return to - from;
+    }
+  }
+}
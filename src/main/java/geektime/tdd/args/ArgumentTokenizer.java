@@ -0,0 +1,98 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exception.ArgumentParseException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 从字符流中逐个读取命令行参数
+ * <p>
+ * 参数之间以空白字符分隔；单引号、双引号内的空白字符属于参数本身，双引号内可以用反斜杠转义。
+ *
+ * @author 李小平
+ */
+final class ArgumentTokenizer implements Iterator<String> {
+
+  private static final int END = -1;
+
+  private final Reader reader;
+  private final StringBuilder token = new StringBuilder();
+  private int current;
+  private boolean ready;
+
+  ArgumentTokenizer(@NotNull Reader reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!ready) {
+      ready = readToken();
+    }
+    return ready;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    ready = false;
+    return token.toString();
+  }
+
+  /**
+   * 读取下一个命令行参数到token中
+   *
+   * @return 是否读到参数
+   */
+  private boolean readToken() {
+    token.setLength(0);
+
+    current = read();
+    while (current != END && Character.isWhitespace(current)) {
+      current = read();
+    }
+    if (current == END) {
+      return false;
+    }
+
+    while (current != END && !Character.isWhitespace(current)) {
+      if (current == '"' || current == '\'') {
+        readQuoted((char) current);
+      } else {
+        token.append((char) current);
+      }
+      current = read();
+    }
+    return true;
+  }
+
+  private void readQuoted(char quote) {
+    current = read();
+    while (current != quote) {
+      if (current == END) {
+        throw new ArgumentParseException("命令行参数缺少结束引号:" + quote + token, null);
+      }
+      if (quote == '"' && current == '\\') {
+        current = read();
+        if (current == END) {
+          continue;
+        }
+      }
+      token.append((char) current);
+      current = read();
+    }
+  }
+
+  private int read() {
+    try {
+      return reader.read();
+    } catch (IOException e) {
+      throw new ArgumentParseException("读取命令行参数失败.", e);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+
+/**
+ * boolean类型参数值解释器，直接返回基本类型值，不创建包装类型对象
+ */
+@FunctionalInterface
+interface BooleanOptionParser extends OptionParser<Boolean> {
+
+  /**
+   * 解释目标对象构造器参数对应的命令行参数值
+   *
+   * @param index  命令行参数索引
+   * @param option 目标对象属性标注
+   * @return 目标对象属性对应的命令行参数值
+   */
+  boolean parseBoolean(ArgumentIndex index, Option option);
+
+  @Override
+  default Boolean parse(ArgumentIndex index, Option option) {
+    return parseBoolean(index, option);
+  }
+}
@@ -0,0 +1,96 @@
+package geektime.tdd.args;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 字节数选项值，如 <code>512MiB</code>、<code>10GB</code>、<code>64k</code>
+ * <p>
+ * 单位不区分大小写：<code>B</code>；<code>KiB/MiB/GiB/TiB/PiB</code> 及单个字母
+ * <code>K/M/G/T/P</code> 按1024进位；<code>KB/MB/GB/TB/PB</code> 按1000进位；没有单位时为字节数。
+ *
+ * @param bytes 字节数
+ * @author 李小平
+ */
+public record ByteSize(long bytes) {
+
+  public static final ByteSize ZERO = new ByteSize(0L);
+
+  public ByteSize {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("字节数不能为负数：" + bytes);
+    }
+  }
+
+  /**
+   * 解释字节数，直接扫描字符，不截取子串
+   *
+   * @param chars 字节数文本
+   * @return 字节数
+   * @throws IllegalArgumentException 格式不对或超出long范围
+   */
+  @NotNull
+  public static ByteSize parse(@NotNull CharSequence chars) {
+    final var length = chars.length();
+    int digits = 0;
+    while (digits < length && chars.charAt(digits) >= '0' && chars.charAt(digits) <= '9') {
+      digits++;
+    }
+    if (digits == 0) {
+      throw illegalByteSize(chars);
+    }
+    final long value = NumberParsers.parseLong(chars, 0, digits);
+    final long unit = unit(chars, digits, length);
+    try {
+      return new ByteSize(Math.multiplyExact(value, unit));
+    } catch (ArithmeticException e) {
+      throw illegalByteSize(chars);
+    }
+  }
+
+  /**
+   * 解释字符区间 [from, to) 中的单位
+   */
+  private static long unit(CharSequence chars, int from, int to) {
+    final var size = to - from;
+    if (size == 0) {
+      return 1L;
+    }
+
+    final var prefix = Character.toUpperCase(chars.charAt(from));
+    if (size == 1 && prefix == 'B') {
+      return 1L;
+    }
+    final var exponent = switch (prefix) {
+      case 'K' -> 1;
+      case 'M' -> 2;
+      case 'G' -> 3;
+      case 'T' -> 4;
+      case 'P' -> 5;
+      default -> throw illegalByteSize(chars);
+    };
+    if (size == 1) {
+      return 1L << (10 * exponent);
+    }
+    if (size == 2 && Character.toUpperCase(chars.charAt(from + 1)) == 'B') {
+      long unit = 1L;
+      for (int i = 0; i < exponent; i++) {
+        unit *= 1000L;
+      }
+      return unit;
+    }
+    if (size == 3 && Character.toUpperCase(chars.charAt(from + 1)) == 'I'
+        && Character.toUpperCase(chars.charAt(from + 2)) == 'B') {
+      return 1L << (10 * exponent);
+    }
+    throw illegalByteSize(chars);
+  }
+
+  private static IllegalArgumentException illegalByteSize(CharSequence chars) {
+    return new IllegalArgumentException("字节数格式不对：" + chars);
+  }
+
+  @Override
+  public String toString() {
+    return bytes + "B";
+  }
+}
@@ -0,0 +1,29 @@
+package geektime.tdd.args;
+
+/**
+ * 命令行参数解释错误类型
+ *
+ * @author 李小平
+ */
+public enum ErrorKind {
+  /**
+   * 选项参数值个数不足
+   */
+  INSUFFICIENT_ARGUMENTS,
+  /**
+   * 选项参数值个数过多
+   */
+  TOO_MANY_ARGUMENTS,
+  /**
+   * 选项参数值格式不对
+   */
+  ILLEGAL_VALUE,
+  /**
+   * 目标对象没有定义的选项标识
+   */
+  UNKNOWN_OPTION,
+  /**
+   * 命令行参数文件读取或切分失败，只在展开 <code>@path</code> 时出现
+   */
+  RESPONSE_FILE
+}
@@ -0,0 +1,164 @@
+package geektime.tdd.args;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 选项标识分派表
+ * <p>
+ * 把全部选项标识构造成字符前缀树，并压平为不可变数组：每个节点的出边按字符排序连续存放。
+ * 对命令行参数中的一段字符做分类只需按字符逐级二分查找，耗时与标识长度成正比，
+ * 也无需截取子串或拼接 <code>"-" + option.value()</code>。
+ *
+ * @author 李小平
+ */
+final class FlagTable {
+
+  /**
+   * 不是已知选项标识
+   */
+  static final int UNKNOWN = -1;
+
+  private final String[] names;
+  /**
+   * 节点 n 的出边为 [edgeStart[n], edgeStart[n + 1])
+   */
+  private final int[] edgeStart;
+  private final char[] labels;
+  private final int[] targets;
+  /**
+   * 节点对应的标识编号，不是完整标识时为 {@link #UNKNOWN}
+   */
+  private final int[] slots;
+
+  private FlagTable(String[] names, int[] edgeStart, char[] labels, int[] targets, int[] slots) {
+    this.names = names;
+    this.edgeStart = edgeStart;
+    this.labels = labels;
+    this.targets = targets;
+    this.slots = slots;
+  }
+
+  /**
+   * 构造分派表，标识编号为其在去重后的顺序
+   *
+   * @param flags 选项标识
+   * @return 分派表
+   */
+  @NotNull
+  static FlagTable of(@NotNull Collection<String> flags) {
+    final var root = new Node();
+    final List<String> names = new ArrayList<>();
+    for (var flag : flags) {
+      var node = root;
+      for (int i = 0; i < flag.length(); i++) {
+        node = node.children.computeIfAbsent(flag.charAt(i), c -> new Node());
+      }
+      if (node.slot == UNKNOWN) {
+        node.slot = names.size();
+        names.add(flag);
+      }
+    }
+
+    // 按广度优先编号，使每个节点的出边连续存放
+    final List<Node> nodes = new ArrayList<>();
+    final var queue = new ArrayDeque<Node>();
+    queue.add(root);
+    while (!queue.isEmpty()) {
+      final var node = queue.poll();
+      node.id = nodes.size();
+      nodes.add(node);
+      queue.addAll(node.children.values());
+    }
+
+    final var edgeStart = new int[nodes.size() + 1];
+    final var labels = new char[nodes.size() - 1];
+    final var targets = new int[nodes.size() - 1];
+    final var slots = new int[nodes.size()];
+    int edge = 0;
+    for (var node : nodes) {
+      edgeStart[node.id] = edge;
+      slots[node.id] = node.slot;
+      for (var child : node.children.entrySet()) {
+        labels[edge] = child.getKey();
+        targets[edge] = child.getValue().id;
+        edge++;
+      }
+    }
+    edgeStart[nodes.size()] = edge;
+
+    return new FlagTable(names.toArray(String[]::new), edgeStart, labels, targets, slots);
+  }
+
+  /**
+   * 查找选项标识编号
+   *
+   * @param flag 选项标识
+   * @return 标识编号，不是已知标识时为 {@link #UNKNOWN}
+   */
+  int find(@NotNull CharSequence flag) {
+    return find(flag, 0, flag.length());
+  }
+
+  /**
+   * 查找字符区间 [from, to) 对应的选项标识编号
+   *
+   * @param chars 字符序列
+   * @param from  起始位置
+   * @param to    结束位置
+   * @return 标识编号，不是已知标识时为 {@link #UNKNOWN}
+   */
+  int find(@NotNull CharSequence chars, int from, int to) {
+    int node = 0;
+    for (int i = from; i < to; i++) {
+      node = child(node, chars.charAt(i));
+      if (node == UNKNOWN) {
+        return UNKNOWN;
+      }
+    }
+    return slots[node];
+  }
+
+  private int child(int node, char label) {
+    int low = edgeStart[node];
+    int high = edgeStart[node + 1] - 1;
+    while (low <= high) {
+      final var middle = (low + high) >>> 1;
+      final var c = labels[middle];
+      if (c < label) {
+        low = middle + 1;
+      } else if (c > label) {
+        high = middle - 1;
+      } else {
+        return targets[middle];
+      }
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * @return 选项标识个数
+   */
+  int size() {
+    return names.length;
+  }
+
+  /**
+   * @param slot 标识编号
+   * @return 选项标识
+   */
+  String name(int slot) {
+    return names[slot];
+  }
+
+  private static final class Node {
+
+    private final TreeMap<Character, Node> children = new TreeMap<>();
+    private int slot = UNKNOWN;
+    private int id;
+  }
+}
@@ -0,0 +1,87 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.ArgumentIndex.Range;
+import geektime.tdd.args.annotation.Option;
+import java.util.List;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 延迟解释的选项值
+ * <p>
+ * 构造器参数类型为 <code>Lazy&lt;T&gt;</code> 或 <code>Supplier&lt;T&gt;</code> 时，解释命令行参数只记录选项的参数值区间，
+ * 第一次调用 {@link #get()} 时才用 <code>T</code> 的解释器解释，结果线程安全地缓存。
+ * 参数值个数、格式错误在第一次调用 {@link #get()} 时抛出；在此之前命令行参数不能被修改。
+ *
+ * @param <T> 选项值类型
+ * @author 李小平
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+  private OptionParser<? extends T> parser;
+  private Option option;
+  private List<? extends CharSequence> arguments;
+  private Range range;
+
+  private volatile boolean resolved;
+  private T value;
+
+  Lazy(OptionParser<? extends T> parser, Option option,
+      List<? extends CharSequence> arguments, Range range) {
+    this.parser = parser;
+    this.option = option;
+    this.arguments = arguments;
+    this.range = range;
+  }
+
+  private Lazy(T value) {
+    this.value = value;
+    this.resolved = true;
+  }
+
+  /**
+   * 创建已经有值的延迟选项值，例如在测试中直接构造目标对象
+   *
+   * @param value 选项值
+   * @param <T>   选项值类型
+   * @return 延迟选项值
+   */
+  @NotNull
+  public static <T> Lazy<T> of(T value) {
+    return new Lazy<>(value);
+  }
+
+  /**
+   * 获取选项值，第一次调用时解释
+   *
+   * @return 选项值
+   */
+  @Override
+  public T get() {
+    if (!resolved) {
+      synchronized (this) {
+        if (!resolved) {
+          value = parser.parse(ArgumentIndex.detached(arguments, option, range), option);
+          resolved = true;
+          parser = null;
+          option = null;
+          arguments = null;
+          range = null;
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * @return 是否已经解释
+   */
+  public boolean isResolved() {
+    return resolved;
+  }
+
+  @Override
+  public String toString() {
+    return resolved ? "Lazy[" + value + "]" : "Lazy[?]";
+  }
+}
@@ -0,0 +1,165 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exception.ConflictingOptionException;
+import geektime.tdd.args.exception.LackOptionException;
+import geektime.tdd.args.exception.LackParserException;
+import geektime.tdd.args.exception.ResponseFileException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 同时解释多个目标对象类的命令行参数解释器
+ * <p>
+ * 各目标对象类的选项标识合并为一个 {@link FlagTable}，命令行参数只遍历、分类一次，
+ * 各目标对象直接从共享的索引取值。不同目标对象类定义相同的选项标识时，构造解释器即报错。
+ * 构造一次之后可以被任意多个线程同时使用。
+ *
+ * @author 李小平
+ */
+public final class MultiArgsParser {
+
+  private final List<Class<?>> optionsClasses;
+  private final ParsePlan<?>[] plans;
+  private final FlagTable flags;
+  private final boolean strict;
+  /**
+   * 是否展开 <code>@path</code> 参数文件
+   */
+  private final boolean responseFiles;
+
+  private MultiArgsParser(List<Class<?>> optionsClasses, ParsePlan<?>[] plans, FlagTable flags,
+      boolean strict, boolean responseFiles) {
+    this.optionsClasses = optionsClasses;
+    this.plans = plans;
+    this.flags = flags;
+    this.strict = strict;
+    this.responseFiles = responseFiles;
+  }
+
+  /**
+   * 构造使用默认注册器的解释器
+   *
+   * @param optionsClasses 目标对象类
+   * @return 解释器
+   * @throws ConflictingOptionException 不同目标对象类定义了相同的选项标识
+   * @throws LackOptionException        构造器参数缺少@Option
+   * @throws LackParserException        构造器参数类型没有注册解释器
+   */
+  @NotNull
+  public static MultiArgsParser of(@NotNull Class<?>... optionsClasses) {
+    return of(OptionParserRegistry.global(), optionsClasses);
+  }
+
+  /**
+   * 构造使用指定注册器的解释器
+   *
+   * @param registry       参数值解释器注册器
+   * @param optionsClasses 目标对象类
+   * @return 解释器
+   * @throws ConflictingOptionException 不同目标对象类定义了相同的选项标识
+   * @throws LackOptionException        构造器参数缺少@Option
+   * @throws LackParserException        构造器参数类型没有注册解释器
+   */
+  @NotNull
+  public static MultiArgsParser of(@NotNull OptionParserRegistry registry,
+      @NotNull Class<?>... optionsClasses) {
+    final var plans = new ParsePlan<?>[optionsClasses.length];
+    final Map<String, Class<?>> owners = new LinkedHashMap<>();
+    for (int i = 0; i < optionsClasses.length; i++) {
+      final var optionsClass = optionsClasses[i];
+      plans[i] = ParsePlan.compile(optionsClass, registry);
+      for (var flag : plans[i].flagNames()) {
+        final var owner = owners.putIfAbsent(flag, optionsClass);
+        if (owner != null && owner != optionsClass) {
+          throw new ConflictingOptionException(flag, "选项：" + flag + "同时定义在"
+              + owner.getCanonicalName() + "和" + optionsClass.getCanonicalName() + "中");
+        }
+      }
+    }
+
+    final var flags = FlagTable.of(owners.keySet());
+    for (int i = 0; i < plans.length; i++) {
+      plans[i] = plans[i].withFlags(flags);
+    }
+    return new MultiArgsParser(List.of(optionsClasses), plans, flags, false, false);
+  }
+
+  /**
+   * @return 命令行中存在所有目标对象都没有定义的选项标识时报错 {@link UnknownOptionException} 的解释器
+   */
+  @NotNull
+  public MultiArgsParser strict() {
+    return strict ? this
+        : new MultiArgsParser(optionsClasses, plans, flags, true, responseFiles);
+  }
+
+  /**
+   * 展开命令行中 <code>@path</code> 形式的参数，见 {@link ArgsParser#withResponseFiles()}
+   *
+   * @return 解释器
+   */
+  @NotNull
+  public MultiArgsParser withResponseFiles() {
+    return responseFiles ? this
+        : new MultiArgsParser(optionsClasses, plans, flags, strict, true);
+  }
+
+  /**
+   * 解释命令行参数
+   *
+   * @param cmdLines 命令行参数
+   * @return 各目标对象实例
+   * @throws ResponseFileException 启用 {@link #withResponseFiles()} 时参数文件读取失败
+   */
+  @NotNull
+  public ParsedOptions parse(String... cmdLines) {
+    final var scratch = ParseScratch.acquire();
+    try {
+      return parse(index(cmdLines, scratch, false));
+    } finally {
+      scratch.release();
+    }
+  }
+
+  /**
+   * 解释命令行参数，参数个数、格式错误及参数文件读取失败不抛出异常，而是作为解释结果返回
+   *
+   * @param cmdLines 命令行参数
+   * @return 解释结果
+   */
+  @NotNull
+  public ParseResult<ParsedOptions> tryParse(String... cmdLines) {
+    final var scratch = ParseScratch.acquire();
+    try {
+      return ParseResult.success(parse(index(cmdLines, scratch, true)
+          .withStacklessFailures()));
+    } catch (ParseFailure e) {
+      return ParseResult.failure(e.error());
+    } finally {
+      scratch.release();
+    }
+  }
+
+  private ArgumentIndex index(String[] cmdLines, ParseScratch scratch,
+      boolean stacklessFailures) {
+    return responseFiles
+        ? ArgumentIndex.expanded(cmdLines, scratch, stacklessFailures)
+        : ArgumentIndex.of(cmdLines, scratch);
+  }
+
+  private ParsedOptions parse(ArgumentIndex index) {
+    final var bound = index.bind(flags);
+    if (strict && bound.unknownFlag() >= 0) {
+      throw bound.unknownFlagFailure();
+    }
+
+    final var values = new Object[plans.length];
+    for (int i = 0; i < plans.length; i++) {
+      values[i] = plans[i].parse(bound);
+    }
+    return new ParsedOptions(optionsClasses, values);
+  }
+}
@@ -0,0 +1,113 @@
+package geektime.tdd.args;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 直接从字符序列解释数值，不创建中间字符串及包装类型对象
+ *
+ * @author 李小平
+ */
+final class NumberParsers {
+
+  private NumberParsers() {
+  }
+
+  /**
+   * 解释十进制整数
+   *
+   * @param chars 字符序列
+   * @return 整数
+   * @throws NumberFormatException 格式不对或超出int范围
+   */
+  static int parseInt(@NotNull CharSequence chars) {
+    return parseInt(chars, 0, chars.length());
+  }
+
+  /**
+   * 解释字符区间 [from, to) 中的十进制整数
+   *
+   * @param chars 字符序列
+   * @param from  起始位置
+   * @param to    结束位置
+   * @return 整数
+   * @throws NumberFormatException 格式不对或超出int范围
+   */
+  static int parseInt(@NotNull CharSequence chars, int from, int to) {
+    return (int) parseLong(chars, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 解释十进制长整数
+   *
+   * @param chars 字符序列
+   * @return 长整数
+   * @throws NumberFormatException 格式不对或超出long范围
+   */
+  static long parseLong(@NotNull CharSequence chars) {
+    return parseLong(chars, 0, chars.length());
+  }
+
+  /**
+   * 解释字符区间 [from, to) 中的十进制长整数
+   *
+   * @param chars 字符序列
+   * @param from  起始位置
+   * @param to    结束位置
+   * @return 长整数
+   * @throws NumberFormatException 格式不对或超出long范围
+   */
+  static long parseLong(@NotNull CharSequence chars, int from, int to) {
+    return parseLong(chars, from, to, Long.MIN_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * 解释浮点数，十进制到二进制的精确舍入交由 {@link Double#parseDouble(String)} 完成
+   *
+   * @param chars 字符序列
+   * @return 浮点数
+   * @throws NumberFormatException 格式不对
+   */
+  static double parseDouble(@NotNull CharSequence chars) {
+    return Double.parseDouble(chars.toString());
+  }
+
+  /**
+   * 按负数累加解释十进制整数，与 {@link Long#parseLong(String)} 一样可以表示最小值
+   */
+  private static long parseLong(CharSequence chars, int from, int to, long min, long max) {
+    if (from >= to) {
+      throw numberFormatException(chars);
+    }
+
+    int position = from;
+    boolean negative = false;
+    final var first = chars.charAt(from);
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      position++;
+      if (position == to) {
+        throw numberFormatException(chars);
+      }
+    }
+
+    final long limit = negative ? min : -max;
+    final long multiplyLimit = limit / 10;
+    long result = 0;
+    for (; position < to; position++) {
+      final var digit = chars.charAt(position) - '0';
+      if (digit < 0 || digit > 9 || result < multiplyLimit) {
+        throw numberFormatException(chars);
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        throw numberFormatException(chars);
+      }
+      result -= digit;
+    }
+    return negative ? result : -result;
+  }
+
+  private static NumberFormatException numberFormatException(CharSequence chars) {
+    return new NumberFormatException("For input string: \"" + chars + "\"");
+  }
+}
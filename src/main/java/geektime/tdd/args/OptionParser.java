@@ -10,6 +10,15 @@ import java.util.List;
 @FunctionalInterface
 interface OptionParser<T> {
 
+  /**
+   * 解释目标对象构造器参数对应的命令行参数值
+   *
+   * @param index  命令行参数索引
+   * @param option 目标对象属性标注
+   * @return 目标对象属性对应的命令行参数值
+   */
+  T parse(ArgumentIndex index, Option option);
+
   /**
    * 解释目标对象构造器参数对应的命令行参数值
    *
@@ -17,5 +26,7 @@ interface OptionParser<T> {
    * @param option    目标对象属性标注
    * @return 目标对象属性对应的命令行参数值
    */
-  T parse(List<String> arguments, Option option);
+  default T parse(List<String> arguments, Option option) {
+    return parse(ArgumentIndex.of(arguments), option);
+  }
 }
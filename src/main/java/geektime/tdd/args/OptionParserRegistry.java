@@ -0,0 +1,245 @@
+package geektime.tdd.args;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 目标对象构造器参数类型对应的参数值解释器注册器
+ * <p>
+ * 注册采用写时复制：每次注册都基于当前快照复制出新的类型映射并整体替换，
+ * 查找不加锁，只读取volatile快照。类型到解释器的查找结果缓存在 {@link ClassValue} 中，
+ * 注册后随快照一起丢弃，因此热路径上每种类型只查找一次。
+ * <p>
+ * 查找顺序：精确类型、枚举类型（按常量名解释）、父类（由近及远）、接口（广度优先）。
+ * {@link List List&lt;T&gt;} 和 {@link Set Set&lt;T&gt;} 按元素类型 <code>T</code> 的转换函数构造解释器，
+ * 通过 {@link #register(Class, Object, Function)} 注册的类型同样可以作为元素类型。
+ * {@link List List&lt;CharSequence&gt;} 使用 {@link PackedStrings} 的解释器。
+ * {@link Lazy Lazy&lt;T&gt;} 和 {@link Supplier Supplier&lt;T&gt;} 按 <code>T</code> 的解释器延迟解释，
+ * <code>T</code> 为包装类型时使用对应基本类型的解释器。
+ *
+ * @author 李小平
+ */
+public final class OptionParserRegistry {
+
+  private static final OptionParserRegistry GLOBAL = new OptionParserRegistry();
+
+  private static final Map<Class<?>, Class<?>> PRIMITIVES = Map.of(
+      Boolean.class, boolean.class,
+      Integer.class, int.class,
+      Long.class, long.class,
+      Double.class, double.class);
+
+  private volatile Snapshot snapshot;
+
+  /**
+   * 创建只包含内置解释器的注册器
+   */
+  public OptionParserRegistry() {
+    this.snapshot = new Snapshot(Args.OPTION_PARSER_REGISTER, Args.VALUE_CONVERTER_REGISTER, 0L);
+  }
+
+  /**
+   * @return 默认注册器，{@link Args} 和 {@link ArgsParser#of(Class)} 使用的注册器
+   */
+  @NotNull
+  public static OptionParserRegistry global() {
+    return GLOBAL;
+  }
+
+  /**
+   * 注册单值类型的参数值解释器，已注册的类型被替换
+   *
+   * @param type         选项值类型
+   * @param defaultValue 命令行中没有该选项时的默认值
+   * @param converter    参数值转换函数，抛出的运行时异常作为参数值格式错误报告
+   * @param <T>          选项值类型
+   * @return 当前注册器
+   */
+  @NotNull
+  public synchronized <T> OptionParserRegistry register(@NotNull Class<T> type, T defaultValue,
+      @NotNull Function<String, ? extends T> converter) {
+    final Function<CharSequence, T> valueConverter = value -> converter.apply(value.toString());
+    final var current = snapshot;
+    snapshot = new Snapshot(
+        with(current.parsers, type, OptionParsers.converted(defaultValue, valueConverter)),
+        with(current.converters, type, valueConverter),
+        current.version + 1);
+    return this;
+  }
+
+  /**
+   * 注册参数值解释器，已注册的类型被替换
+   *
+   * @param type   选项值类型
+   * @param parser 参数值解释器
+   * @param <T>    选项值类型
+   * @return 当前注册器
+   */
+  @NotNull
+  synchronized <T> OptionParserRegistry register(@NotNull Class<T> type,
+      @NotNull OptionParser<? extends T> parser) {
+    final var current = snapshot;
+    snapshot = new Snapshot(with(current.parsers, type, parser), current.converters,
+        current.version + 1);
+    return this;
+  }
+
+  private static <V> Map<Class<?>, V> with(Map<Class<?>, V> map, Class<?> type, V value) {
+    final var copy = new HashMap<>(map);
+    copy.put(type, value);
+    return Map.copyOf(copy);
+  }
+
+  /**
+   * @param type 选项值类型
+   * @return 是否存在可用于该类型的解释器
+   */
+  public boolean supports(@NotNull Class<?> type) {
+    return find(type) != null;
+  }
+
+  /**
+   * 查找选项值类型对应的解释器
+   *
+   * @param type 选项值类型
+   * @return 解释器，不存在时返回null
+   */
+  OptionParser<?> find(Class<?> type) {
+    return snapshot.resolved.get(type).orElse(null);
+  }
+
+  /**
+   * 查找构造器参数泛型类型对应的解释器，只在编译解释计划时调用
+   *
+   * @param type 选项值类型
+   * @return 解释器，不存在时返回null
+   */
+  OptionParser<?> find(Type type) {
+    if (type instanceof ParameterizedType parameterized
+        && (parameterized.getRawType() == Lazy.class
+        || parameterized.getRawType() == Supplier.class)) {
+      final var valueType = parameterized.getActualTypeArguments()[0];
+      final var parser = find(valueType instanceof Class<?> boxed ? unboxed(boxed) : valueType);
+      return parser == null ? null : OptionParsers.lazy(parser);
+    }
+    if (type instanceof ParameterizedType parameterized
+        && parameterized.getActualTypeArguments().length == 1
+        && parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+      if (elementType == CharSequence.class && parameterized.getRawType() == List.class) {
+        return find(PackedStrings.class);
+      }
+      final var current = snapshot;
+      final var converter = current.converter(elementType);
+      if (converter != null && parameterized.getRawType() == List.class) {
+        return OptionParsers.listOf(converter);
+      }
+      if (converter != null && parameterized.getRawType() == Set.class) {
+        return OptionParsers.setOf(converter);
+      }
+    }
+    if (type instanceof ParameterizedType parameterized) {
+      return find(parameterized.getRawType());
+    }
+    return type instanceof Class<?> raw ? find(raw) : null;
+  }
+
+  private Type unboxed(Class<?> type) {
+    final Class<?> primitive = PRIMITIVES.get(type);
+    return primitive != null && find(type) == null ? primitive : type;
+  }
+
+  /**
+   * @return 注册版本，每次注册加一，用于判断按旧注册编译的解释计划是否过期
+   */
+  long version() {
+    return snapshot.version;
+  }
+
+  /**
+   * 不可变的注册快照
+   */
+  private static final class Snapshot {
+
+    private final Map<Class<?>, OptionParser<?>> parsers;
+    private final Map<Class<?>, Function<CharSequence, ?>> converters;
+    private final long version;
+    private final ClassValue<Optional<OptionParser<?>>> resolved = new ClassValue<>() {
+      @Override
+      protected Optional<OptionParser<?>> computeValue(Class<?> type) {
+        return Optional.ofNullable(resolve(type));
+      }
+    };
+
+    private Snapshot(Map<Class<?>, OptionParser<?>> parsers,
+        Map<Class<?>, Function<CharSequence, ?>> converters, long version) {
+      this.parsers = parsers;
+      this.converters = converters;
+      this.version = version;
+    }
+
+    private Function<CharSequence, ?> converter(Class<?> elementType) {
+      final var converter = converters.get(elementType);
+      if (converter == null && elementType.isEnum()) {
+        return enumValue(elementType);
+      }
+      return converter;
+    }
+
+    private OptionParser<?> resolve(Class<?> type) {
+      final var exact = parsers.get(type);
+      if (exact != null) {
+        return exact;
+      }
+      // 没有为枚举类本身注册时按常量名解释，不被为 Comparable、Serializable 等接口注册的解释器取代
+      if (type.isEnum()) {
+        return enumParser(type);
+      }
+
+      for (var superclass = type.getSuperclass(); superclass != null;
+          superclass = superclass.getSuperclass()) {
+        final var parser = parsers.get(superclass);
+        if (parser != null) {
+          return parser;
+        }
+      }
+
+      final var interfaces = new ArrayDeque<Class<?>>();
+      final var visited = new HashSet<Class<?>>();
+      for (var current = type; current != null; current = current.getSuperclass()) {
+        interfaces.addAll(List.of(current.getInterfaces()));
+      }
+      while (!interfaces.isEmpty()) {
+        final var candidate = interfaces.poll();
+        if (!visited.add(candidate)) {
+          continue;
+        }
+        final var parser = parsers.get(candidate);
+        if (parser != null) {
+          return parser;
+        }
+        interfaces.addAll(List.of(candidate.getInterfaces()));
+      }
+      return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static OptionParser<?> enumParser(Class<?> type) {
+      return OptionParsers.enumUnary((Class) type);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<CharSequence, ?> enumValue(Class<?> type) {
+      return OptionParsers.enumValue((Class) type);
+    }
+  }
+}
@@ -1,13 +1,20 @@
 package geektime.tdd.args;
 
+import geektime.tdd.args.ArgumentIndex.Range;
 import geektime.tdd.args.annotation.Option;
-import geektime.tdd.args.exception.InsufficientArgumentsException;
-import geektime.tdd.args.exception.TooManyArgumentsException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.IntFunction;
-import java.util.stream.IntStream;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -30,17 +37,265 @@ class OptionParsers {
    */
   public static <T> OptionParser<T> unary(T defaultValue,
       @NotNull Function<String, T> parseValueFun) {
-    return (arguments, option) -> fetchOptionValue(
-        arguments, option, 1, defaultValue, parseValueFun);
+    return (index, option) -> fetchOptionValue(
+        index, option, 1, defaultValue, parseValueFun);
   }
 
 
   /**
    * 创建flag命令行解释器
    */
-  public static OptionParser<Boolean> bool() {
-    return (arguments, option) -> fetchOptionValue(
-        arguments, option, 0, false, it -> true);
+  public static BooleanOptionParser bool() {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return false;
+      }
+      validOptionValue(index, option, range, 0);
+      return true;
+    };
+  }
+
+  /**
+   * 创建int单值命令行解释器，直接从参数值字符解释，不创建包装类型对象
+   *
+   * @param defaultValue 命令行选项默认值
+   * @return 选项解释器
+   */
+  public static IntOptionParser intUnary(int defaultValue) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validOptionValue(index, option, range, 1);
+      try {
+        return NumberParsers.parseInt(index.token(range.from()));
+      } catch (NumberFormatException e) {
+        throw throwIllegalArgumentException(index, option, range.from(), e);
+      }
+    };
+  }
+
+  /**
+   * 创建long单值命令行解释器，直接从参数值字符解释，不创建包装类型对象
+   *
+   * @param defaultValue 命令行选项默认值
+   * @return 选项解释器
+   */
+  public static LongOptionParser longUnary(long defaultValue) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validOptionValue(index, option, range, 1);
+      try {
+        return NumberParsers.parseLong(index.token(range.from()));
+      } catch (NumberFormatException e) {
+        throw throwIllegalArgumentException(index, option, range.from(), e);
+      }
+    };
+  }
+
+  /**
+   * 创建double单值命令行解释器
+   *
+   * @param defaultValue 命令行选项默认值
+   * @return 选项解释器
+   */
+  public static DoubleOptionParser doubleUnary(double defaultValue) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validOptionValue(index, option, range, 1);
+      try {
+        return NumberParsers.parseDouble(index.token(range.from()));
+      } catch (NumberFormatException e) {
+        throw throwIllegalArgumentException(index, option, range.from(), e);
+      }
+    };
+  }
+
+  /**
+   * 创建枚举单值命令行解释器，参数值为枚举常量名
+   *
+   * @param enumType 枚举类型
+   * @param <E>      枚举类型
+   * @return 选项解释器，命令行中没有该选项时值为null
+   */
+  public static <E extends Enum<E>> OptionParser<E> enumUnary(@NotNull Class<E> enumType) {
+    return converted(null, enumValue(enumType));
+  }
+
+  /**
+   * 创建枚举常量名转换函数：常量名预先构造为 {@link FlagTable}，按字符查找常量，
+   * 不像 {@link Enum#valueOf(Class, String)} 那样需要字符串并依赖异常
+   *
+   * @param enumType 枚举类型
+   * @param <E>      枚举类型
+   * @return 枚举常量名转换函数
+   */
+  @NotNull
+  static <E extends Enum<E>> Function<CharSequence, E> enumValue(@NotNull Class<E> enumType) {
+    final E[] constants = enumType.getEnumConstants();
+    final var table = FlagTable.of(Arrays.stream(constants).map(Enum::name).toList());
+    return value -> {
+      final var slot = table.find(value);
+      if (slot == FlagTable.UNKNOWN) {
+        throw new IllegalArgumentException(
+            "No enum constant " + enumType.getCanonicalName() + "." + value);
+      }
+      return constants[slot];
+    };
+  }
+
+  /**
+   * 创建时长单值命令行解释器，如 <code>30s</code>、<code>5m</code>、<code>1h30m</code>
+   *
+   * @return 选项解释器，命令行中没有该选项时值为 {@link Duration#ZERO}
+   */
+  public static OptionParser<Duration> duration() {
+    return converted(Duration.ZERO, ValueParsers::parseDuration);
+  }
+
+  /**
+   * 创建字节数单值命令行解释器，如 <code>512MiB</code>
+   *
+   * @return 选项解释器，命令行中没有该选项时值为 {@link ByteSize#ZERO}
+   */
+  public static OptionParser<ByteSize> byteSize() {
+    return converted(ByteSize.ZERO, ByteSize::parse);
+  }
+
+  /**
+   * 创建路径单值命令行解释器
+   *
+   * @return 选项解释器，命令行中没有该选项时值为null
+   */
+  public static OptionParser<Path> path() {
+    return converted(null, value -> Path.of(value.toString()));
+  }
+
+  /**
+   * 创建套接字地址单值命令行解释器，如 <code>localhost:8080</code>，不做域名解析
+   *
+   * @return 选项解释器，命令行中没有该选项时值为null
+   */
+  public static OptionParser<InetSocketAddress> socketAddress() {
+    return converted(null, ValueParsers::parseSocketAddress);
+  }
+
+  /**
+   * 创建延迟解释器：只记录选项的参数值区间，第一次读取选项值时才调用实际的解释器
+   *
+   * @param parser 选项值解释器
+   * @param <T>    选项值类型
+   * @return 选项解释器
+   */
+  public static <T> OptionParser<Lazy<T>> lazy(@NotNull OptionParser<? extends T> parser) {
+    return (index, option) -> new Lazy<>(parser, option, index.arguments(), index.range(option));
+  }
+
+  /**
+   * 创建单值命令行解释器，参数值直接以 {@link CharSequence} 交给转换函数，不转换为字符串
+   *
+   * @param defaultValue 命令行选项默认值
+   * @param converter    参数值转换函数
+   * @param <T>          选项值类型
+   * @return 选项解释器
+   */
+  static <T> OptionParser<T> converted(T defaultValue,
+      @NotNull Function<? super CharSequence, ? extends T> converter) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validOptionValue(index, option, range, 1);
+      try {
+        return converter.apply(index.token(range.from()));
+      } catch (Exception e) {
+        throw throwIllegalArgumentException(index, option, range.from(), e);
+      }
+    };
+  }
+
+  /**
+   * 创建 {@link List} 多值命令行解释器，元素顺序与命令行一致
+   *
+   * @param converter 元素转换函数
+   * @param <T>       元素类型
+   * @return 选项解释器，命令行中没有该选项时值为空列表，结果不可修改
+   */
+  public static <T> OptionParser<List<T>> listOf(
+      @NotNull Function<? super CharSequence, ? extends T> converter) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return List.of();
+      }
+      validListOptionValue(index, option, range);
+      final var values = convertAll(index, option, range, converter);
+      return Collections.unmodifiableList(Arrays.asList(values));
+    };
+  }
+
+  /**
+   * 创建 {@link Set} 多值命令行解释器，重复的参数值只保留第一个，迭代顺序与命令行一致
+   *
+   * @param converter 元素转换函数
+   * @param <T>       元素类型
+   * @return 选项解释器，命令行中没有该选项时值为空集合，结果不可修改
+   */
+  public static <T> OptionParser<Set<T>> setOf(
+      @NotNull Function<? super CharSequence, ? extends T> converter) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return Set.of();
+      }
+      validListOptionValue(index, option, range);
+      final var values = convertAll(index, option, range, converter);
+      return Collections.unmodifiableSet(new LinkedHashSet<T>(Arrays.asList(values)));
+    };
+  }
+
+  /**
+   * 创建紧凑存储的字符串多值命令行解释器，重复的参数值只存一份
+   *
+   * @return 选项解释器，命令行中没有该选项时值为 {@link PackedStrings#EMPTY}
+   */
+  public static OptionParser<PackedStrings> packedStrings() {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return PackedStrings.EMPTY;
+      }
+      validListOptionValue(index, option, range);
+      final var builder = new PackedStrings.Builder(true);
+      for (int position = range.from(); position < range.to(); position++) {
+        builder.add(index.token(position));
+      }
+      return builder.build();
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T[] convertAll(ArgumentIndex index, Option option, Range range,
+      Function<? super CharSequence, ? extends T> converter) {
+    final var values = (T[]) new Object[range.size()];
+    int position = range.from();
+    try {
+      for (; position < range.to(); position++) {
+        values[position - range.from()] = converter.apply(index.token(position));
+      }
+    } catch (Exception e) {
+      throw throwIllegalArgumentException(index, option, position, e);
+    }
+    return values;
   }
 
   /**
@@ -55,96 +310,260 @@ class OptionParsers {
   public static <T> OptionParser<T[]> list(T[] defaultValue,
       @NotNull IntFunction<T[]> generator,
       @NotNull Function<String, T> parseValueFun) {
-    return (arguments, option) -> {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validListOptionValue(index, option, range);
 
-      final var flagValuesOptional = extractFlagValue(
-            arguments, option);
-      return flagValuesOptional.map(flagValues -> {
+      final var values = generator.apply(range.size());
+      int position = range.from();
+      try {
+        for (; position < range.to(); position++) {
+          values[position - range.from()] = parseValueFun.apply(index.token(position).toString());
+        }
+      } catch (Exception e) {
+        throw throwIllegalArgumentException(index, option, position, e);
+      }
+      return values;
+    };
+  }
 
-       validListOptionValue(option, flagValues);
+  /**
+   * 并行多值参数项值解释器：参数值个数达到阈值时，拆分到 {@link ForkJoinPool#commonPool()} 中并行解释，
+   * 结果保持原有顺序；多个参数值格式不对时，与串行解释一样报告位置最靠前的一个
+   *
+   * @param defaultValue  默认值
+   * @param generator     数据构建器
+   * @param parseValueFun 选项值解释器，需要线程安全
+   * @param threshold     并行解释的参数值个数阈值，也是每个子任务的最大参数值个数
+   * @param <T>           选项值类型
+   * @return 选项值类型数组
+   */
+  public static <T> OptionParser<T[]> parallelList(T[] defaultValue,
+      @NotNull IntFunction<T[]> generator,
+      @NotNull Function<String, T> parseValueFun, int threshold) {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("threshold:" + threshold);
+    }
+    final var sequential = list(defaultValue, generator, parseValueFun);
 
-        try {
-          return flagValues.stream().map(parseValueFun).toArray(generator);
-        } catch (Exception e) {
-          throw throwIllegalArgumentException(option, flagValues, e);
-        }
-      }).orElse(defaultValue);
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null || range.size() < threshold) {
+        return sequential.parse(index, option);
+      }
+
+      final var values = generator.apply(range.size());
+      final var task = new ParallelListTask<>(index, range.from(), range.to(),
+          values, range.from(), parseValueFun, threshold, new ParallelListTask.FirstError());
+      ForkJoinPool.commonPool().invoke(task);
 
+      final var error = task.firstError.get();
+      if (error != null) {
+        throw throwIllegalArgumentException(index, option, error.position(), error.cause());
+      }
+      return values;
     };
   }
 
-  private static void validListOptionValue(Option option, List<String> flagValues) {
-    if (flagValues.isEmpty()) {
-      throw new InsufficientArgumentsException(option.value());
+  /**
+   * 并行解释参数值区间 [from, to) 的任务
+   */
+  private static final class ParallelListTask<T> extends RecursiveAction {
+
+    private final transient ArgumentIndex index;
+    private final int from;
+    private final int to;
+    private final transient T[] values;
+    private final int offset;
+    private final transient Function<String, T> parseValueFun;
+    private final int threshold;
+    private final FirstError firstError;
+
+    ParallelListTask(ArgumentIndex index, int from, int to, T[] values, int offset,
+        Function<String, T> parseValueFun, int threshold, FirstError firstError) {
+      this.index = index;
+      this.from = from;
+      this.to = to;
+      this.values = values;
+      this.offset = offset;
+      this.parseValueFun = parseValueFun;
+      this.threshold = threshold;
+      this.firstError = firstError;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        convert();
+        return;
+      }
+      final var middle = (from + to) >>> 1;
+      invokeAll(
+          new ParallelListTask<>(index, from, middle, values, offset, parseValueFun, threshold,
+              firstError),
+          new ParallelListTask<>(index, middle, to, values, offset, parseValueFun, threshold,
+              firstError));
+    }
+
+    private void convert() {
+      int position = from;
+      try {
+        // 已有更靠前的错误时，后面的参数值无需再解释
+        for (; position < to && firstError.isAfter(position); position++) {
+          values[position - offset] = parseValueFun.apply(index.token(position).toString());
+        }
+      } catch (Exception e) {
+        firstError.offer(position, e);
+      }
+    }
+
+    /**
+     * 位置最靠前的错误
+     */
+    private static final class FirstError extends AtomicReference<PositionedError> {
+
+      boolean isAfter(int position) {
+        final var error = get();
+        return error == null || error.position() > position;
+      }
+
+      void offer(int position, Exception cause) {
+        final var error = new PositionedError(position, cause);
+        accumulateAndGet(error, (current, offered) ->
+            current == null || offered.position() < current.position() ? offered : current);
+      }
+    }
+
+    private record PositionedError(int position, Exception cause) {
+
     }
   }
 
-  private static <T> T fetchOptionValue(List<String> arguments, Option option,
-      int expectedSize, T defaultValue,
-      @NotNull Function<String, T> parseValueFun) {
+  /**
+   * int多值参数项值解释器，只分配最终的结果数组
+   *
+   * @param defaultValue 默认值
+   * @return 选项值数组
+   */
+  public static OptionParser<int[]> intList(int[] defaultValue) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validListOptionValue(index, option, range);
 
-    final var flagValuesOptional = extractFlagValue(
-        arguments, option);
-    return flagValuesOptional.map(flagValues -> {
-        validOptionValue(option, flagValues, expectedSize);
+      final var values = new int[range.size()];
+      int position = range.from();
+      try {
+        for (; position < range.to(); position++) {
+          values[position - range.from()] = NumberParsers.parseInt(index.token(position));
+        }
+      } catch (NumberFormatException e) {
+        throw throwIllegalArgumentException(index, option, position, e);
+      }
+      return values;
+    };
+  }
 
-        try {
-          return parseValueFun.apply(flagValues.isEmpty() ? null : flagValues.get(0));
-        } catch (Exception e) {
-          throw throwIllegalArgumentException(option, flagValues, e);
+  /**
+   * long多值参数项值解释器，只分配最终的结果数组
+   *
+   * @param defaultValue 默认值
+   * @return 选项值数组
+   */
+  public static OptionParser<long[]> longList(long[] defaultValue) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validListOptionValue(index, option, range);
+
+      final var values = new long[range.size()];
+      int position = range.from();
+      try {
+        for (; position < range.to(); position++) {
+          values[position - range.from()] = NumberParsers.parseLong(index.token(position));
         }
+      } catch (NumberFormatException e) {
+        throw throwIllegalArgumentException(index, option, position, e);
+      }
+      return values;
+    };
+  }
+
+  /**
+   * double多值参数项值解释器
+   *
+   * @param defaultValue 默认值
+   * @return 选项值数组
+   */
+  public static OptionParser<double[]> doubleList(double[] defaultValue) {
+    return (index, option) -> {
+      final var range = index.range(option);
+      if (range == null) {
+        return defaultValue;
+      }
+      validListOptionValue(index, option, range);
 
-    }).orElse(defaultValue);
+      final var values = new double[range.size()];
+      int position = range.from();
+      try {
+        for (; position < range.to(); position++) {
+          values[position - range.from()] = NumberParsers.parseDouble(index.token(position));
+        }
+      } catch (NumberFormatException e) {
+        throw throwIllegalArgumentException(index, option, position, e);
+      }
+      return values;
+    };
   }
 
-  @NotNull
-  private static IllegalArgumentException throwIllegalArgumentException(Option option,
-      List<String> flagValues, Exception e) {
-    return new IllegalArgumentException(option.value() + "对应的参数值:"
-        + flagValues + "格式不对", e);
+  private static void validListOptionValue(ArgumentIndex index, Option option, Range range) {
+    if (range.size() == 0) {
+      throw index.failure(ErrorKind.INSUFFICIENT_ARGUMENTS, option, range.flag(), null);
+    }
   }
 
-  private static void validOptionValue(Option option, List<String> flagValues, int expectedSize) {
-    int size = flagValues.size();
+  private static <T> T fetchOptionValue(ArgumentIndex index, Option option,
+      int expectedSize, T defaultValue,
+      @NotNull Function<String, T> parseValueFun) {
 
-    if (size < expectedSize) {
-      throw new InsufficientArgumentsException(option.value());
+    final var range = index.range(option);
+    if (range == null) {
+      return defaultValue;
     }
+    validOptionValue(index, option, range, expectedSize);
 
-    if (size > expectedSize) {
-      throw new TooManyArgumentsException(option.value());
+    try {
+      return parseValueFun.apply(range.size() == 0 ? null : index.token(range.from()).toString());
+    } catch (Exception e) {
+      throw throwIllegalArgumentException(index, option, range.from(), e);
     }
-
   }
 
-  /**
-   * 提取命令行指定选项参数值列表，如果选择项不存在，返回:<link>Optional.empty</link>
-   * 并对参数值个数进行验证
-   *
-   * @param arguments         参数值列表
-   * @param flagIndex         选项索引号
-   * @return 选项参数值列表（原始值）
-   */
   @NotNull
-  private static Optional<List<String>> extractFlagValue(List<String> arguments, Option option)
-      throws InsufficientArgumentsException, TooManyArgumentsException {
-    final var flagIndex = arguments.indexOf("-" + option.value());
-    List<String> values;
-    if (-1 == flagIndex) {
-      // 命令行参数标识不存在时，返回默认值
-      values = null;
-    } else {
-      final var size = arguments.size();
-
-      final var nextFlagIndex = IntStream.range(flagIndex + 1, size)
-          .filter(index -> arguments.get(index).matches("^-[a-zA-Z_]+$"))
-          .findFirst()
-          .orElse(size);
-      values = arguments.subList(flagIndex + 1, nextFlagIndex);
+  private static RuntimeException throwIllegalArgumentException(ArgumentIndex index,
+      Option option, int position, Exception e) {
+    return index.failure(ErrorKind.ILLEGAL_VALUE, option, position, e);
+  }
+
+  private static void validOptionValue(ArgumentIndex index, Option option, Range range,
+      int expectedSize) {
+    final var size = range.size();
 
+    if (size < expectedSize) {
+      throw index.failure(ErrorKind.INSUFFICIENT_ARGUMENTS, option, range.flag(), null);
+    }
+
+    if (size > expectedSize) {
+      throw index.failure(ErrorKind.TOO_MANY_ARGUMENTS, option, range.flag(), null);
     }
 
-    return Optional.ofNullable(values);
   }
 
 }
@@ -0,0 +1,332 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 命令行之下的分层选项来源，例如属性文件、环境变量
+ * <p>
+ * 各层按注册顺序由高到低排列，命令行始终最高；同一选项以最高的一层为准。
+ * 属性文件的键为选项标识本身（如 <code>p=8080</code>），
+ * 环境变量名为前缀加大写的选项标识，<code>-</code> 换为 <code>_</code>
+ * （如 <code>APP_P=8080</code>、<code>APP_LOG_DIR=/var/log</code>）。
+ * <p>
+ * 值追加在命令行参数之后，与命令行一起建立同一个参数索引，但只作为参数值：
+ * 以 <code>-</code> 开头的值不作为选项标识，以 <code>@</code> 开头的值不展开为参数文件。
+ * 单值选项的整个值（可以含空格）是一个参数值；只有数组、集合等多值选项的值按命令行的规则
+ * （空白分隔、引号、转义）切分为多个参数值。
+ * 布尔选项的值为 <code>true</code> 时相当于出现该选项，为其它值时相当于没有该选项。
+ * <p>
+ * 属性文件的修改时间最多每隔检查间隔（默认1秒）检查一次，只在修改时间变化时重新读取；
+ * 环境变量在进程内只读取一次。因此每次解释不读文件、不查询文件属性，也不调用
+ * {@link System#getenv()}。构造一次之后可以被任意多个线程同时使用。
+ *
+ * @author 李小平
+ */
+public final class OptionSources {
+
+  /**
+   * 属性文件修改时间的默认检查间隔
+   */
+  private static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+
+  private final Layer[] layers;
+
+  private OptionSources(Layer[] layers) {
+    this.layers = layers;
+  }
+
+  /**
+   * @return 选项来源注册器
+   */
+  @NotNull
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 获取各层当前的状态，属性文件有变化时在此重新读取
+   *
+   * @return 各层状态，某一层没有变化时为同一实例
+   */
+  @NotNull
+  Object[] states() {
+    final var states = new Object[layers.length];
+    for (int i = 0; i < layers.length; i++) {
+      states[i] = layers[i].state();
+    }
+    return states;
+  }
+
+  /**
+   * 按各层状态生成追加在命令行之后的参数
+   *
+   * @param states   {@link #states()} 的结果
+   * @param options  目标对象的选项
+   * @param switches 各选项是否为布尔选项
+   * @param lists    各选项是否为多值选项
+   * @return 命令行参数，参数值都由 {@link ArgumentIndex#literal(String)} 构造
+   */
+  @NotNull
+  CharSequence[] arguments(Object[] states, Option[] options, boolean[] switches,
+      boolean[] lists) {
+    final var arguments = new ArrayList<CharSequence>();
+    for (int i = 0; i < options.length; i++) {
+      final var flag = options[i].value();
+      final var value = lookup(states, flag);
+      if (value == null) {
+        continue;
+      }
+      // 以 -- 开头，含 - 的选项标识（如 log-dir）也能被识别
+      if (switches[i]) {
+        if (Boolean.parseBoolean(value.strip())) {
+          arguments.add("--" + flag);
+        }
+        continue;
+      }
+      arguments.add("--" + flag);
+      if (lists[i]) {
+        new ArgumentTokenizer(new StringReader(value))
+            .forEachRemaining(token -> arguments.add(ArgumentIndex.literal(token)));
+      } else {
+        arguments.add(ArgumentIndex.literal(value));
+      }
+    }
+    return arguments.toArray(CharSequence[]::new);
+  }
+
+  private String lookup(Object[] states, String flag) {
+    for (int i = 0; i < layers.length; i++) {
+      final var value = layers[i].get(states[i], flag);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 选项来源注册器，先注册的层优先
+   */
+  public static final class Builder {
+
+    private final List<Layer> layers = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    /**
+     * 添加属性文件层，文件不存在时该层为空；修改时间每秒最多检查一次
+     *
+     * @param path 属性文件（UTF-8编码）
+     * @return this
+     */
+    @NotNull
+    public Builder properties(@NotNull Path path) {
+      return properties(path, CHECK_INTERVAL);
+    }
+
+    /**
+     * 添加属性文件层，文件不存在时该层为空
+     *
+     * @param path          属性文件（UTF-8编码）
+     * @param checkInterval 修改时间的最小检查间隔，间隔内的解释直接使用上次读取的内容；
+     *                      为0时每次解释都检查
+     * @return this
+     * @throws IllegalArgumentException 检查间隔为负数
+     */
+    @NotNull
+    public Builder properties(@NotNull Path path, @NotNull Duration checkInterval) {
+      if (checkInterval.isNegative()) {
+        throw new IllegalArgumentException("检查间隔不能为负数：" + checkInterval);
+      }
+      layers.add(new PropertiesLayer(path, checkInterval.toNanos()));
+      return this;
+    }
+
+    /**
+     * 添加环境变量层，变量名为前缀加大写的选项标识，选项标识中的 <code>-</code> 换为 <code>_</code>
+     *
+     * @param prefix 环境变量名前缀，如 <code>APP_</code>
+     * @return this
+     */
+    @NotNull
+    public Builder environment(@NotNull String prefix) {
+      return environment(prefix, Environment.VARIABLES);
+    }
+
+    /**
+     * 添加环境变量层，使用指定的环境变量
+     *
+     * @param prefix    环境变量名前缀
+     * @param variables 环境变量
+     * @return this
+     */
+    @NotNull
+    Builder environment(@NotNull String prefix, @NotNull Map<String, String> variables) {
+      final var values = new HashMap<String, String>();
+      for (var variable : variables.entrySet()) {
+        if (variable.getKey().startsWith(prefix)) {
+          values.put(variable.getKey().substring(prefix.length()), variable.getValue());
+        }
+      }
+      final var snapshot = Map.copyOf(values);
+      layers.add(new MapLayer(snapshot, flag -> flag.toUpperCase(Locale.ROOT).replace('-', '_')));
+      return this;
+    }
+
+    /**
+     * 添加固定值层
+     *
+     * @param values 选项标识 -&gt; 值
+     * @return this
+     */
+    @NotNull
+    public Builder map(@NotNull Map<String, String> values) {
+      layers.add(new MapLayer(Map.copyOf(values), flag -> flag));
+      return this;
+    }
+
+    /**
+     * @return 选项来源
+     */
+    @NotNull
+    public OptionSources build() {
+      return new OptionSources(layers.toArray(Layer[]::new));
+    }
+  }
+
+  /**
+   * 一层选项来源
+   */
+  private interface Layer {
+
+    /**
+     * @return 当前状态，没有变化时返回同一实例
+     */
+    Object state();
+
+    /**
+     * @param state {@link #state()} 的结果
+     * @param flag  选项标识
+     * @return 选项的值，没有时为null
+     */
+    String get(Object state, String flag);
+  }
+
+  /**
+   * 固定值层
+   */
+  private record MapLayer(Map<String, String> values,
+                          UnaryOperator<String> key) implements Layer {
+
+    @Override
+    public Object state() {
+      return values;
+    }
+
+    @Override
+    public String get(Object state, String flag) {
+      return values.get(key.apply(flag));
+    }
+  }
+
+  /**
+   * 属性文件层，按检查间隔查询修改时间，按修改时间判断是否需要重新读取
+   */
+  private static final class PropertiesLayer implements Layer {
+
+    private final Path path;
+    private final long checkInterval;
+    /**
+     * 上次读取的内容，尚未读取时为null
+     */
+    private volatile Loaded loaded;
+    /**
+     * 上次查询修改时间的时刻（{@link System#nanoTime()}）
+     */
+    private volatile long checked;
+
+    private PropertiesLayer(Path path, long checkInterval) {
+      this.path = path;
+      this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public Object state() {
+      final var current = loaded;
+      final var now = System.nanoTime();
+      if (current != null && now - checked < checkInterval) {
+        return current;
+      }
+      checked = now;
+      final var modified = lastModified();
+      if (current != null && Objects.equals(modified, current.modified)) {
+        return current;
+      }
+
+      final var properties = new Properties();
+      if (modified != null) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+          properties.load(reader);
+        } catch (NoSuchFileException e) {
+          // 读取前文件被删除，按空文件处理
+        } catch (IOException e) {
+          throw new ArgumentParseException("属性文件读取失败：" + path, e);
+        }
+      }
+      final var values = new HashMap<String, String>();
+      for (var name : properties.stringPropertyNames()) {
+        values.put(name, properties.getProperty(name));
+      }
+      final var reloaded = new Loaded(modified, Map.copyOf(values));
+      loaded = reloaded;
+      return reloaded;
+    }
+
+    @Override
+    public String get(Object state, String flag) {
+      return ((Loaded) state).values.get(flag);
+    }
+
+    private FileTime lastModified() {
+      try {
+        return Files.getLastModifiedTime(path);
+      } catch (NoSuchFileException e) {
+        return null;
+      } catch (IOException e) {
+        throw new ArgumentParseException("属性文件读取失败：" + path, e);
+      }
+    }
+
+    private record Loaded(FileTime modified, Map<String, String> values) {
+
+    }
+  }
+
+  /**
+   * 进程内只读取一次的环境变量
+   */
+  private static final class Environment {
+
+    private static final Map<String, String> VARIABLES = Map.copyOf(System.getenv());
+  }
+}
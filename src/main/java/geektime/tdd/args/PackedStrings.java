@@ -0,0 +1,430 @@
+package geektime.tdd.args;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 紧凑存储的只读字符串列表，用于参数值数量巨大的多值选项
+ * <p>
+ * 全部字符连续存放在一个数组中：只含Latin-1字符时每个字符占一个字节，否则占两个字节；
+ * 每个不同的值只记录一个 <code>int</code> 起始下标。重复的值只存一份，再为每个元素记录一个
+ * <code>int</code> 编号；没有重复时不分配编号数组。每个值的额外开销为4～8字节，
+ * 而 {@link String} 数组每个值约有50字节的对象头、数组头和引用开销。
+ * <p>
+ * 元素以数组上的 {@link CharSequence} 视图返回，读取时才创建，不复制字符；
+ * 视图之间按内容比较，哈希值与内容相同的 {@link String} 一致；
+ * 与 {@link String} 比较时先调用 <code>toString()</code> 或使用 {@link CharSequence#compare}。
+ * 列表的 {@link #contains}、{@link #indexOf}、{@link #lastIndexOf} 按内容查找，可以直接传入 {@link String}；
+ * {@link #equals} 保持 {@link List#equals} 的语义，只与元素相等的列表（例如另一个 <code>PackedStrings</code>）相等，
+ * 与 <code>List&lt;String&gt;</code> 按内容比较时使用 {@link #contentEquals(List)}。
+ *
+ * @author 李小平
+ */
+public final class PackedStrings extends AbstractList<CharSequence> implements RandomAccess {
+
+  /**
+   * 空列表
+   */
+  public static final PackedStrings EMPTY = new Builder(false).build();
+
+  /**
+   * Latin-1字符，<code>chars</code> 为null时有效
+   */
+  private final byte[] bytes;
+  private final char[] chars;
+  /**
+   * 第 n 个不同值的字符区间为 [offsets[n], offsets[n + 1])
+   */
+  private final int[] offsets;
+  /**
+   * 每个元素对应的不同值编号，没有重复时为null
+   */
+  private final int[] ids;
+  private final int size;
+
+  private PackedStrings(byte[] bytes, char[] chars, int[] offsets, int[] ids, int size) {
+    this.bytes = bytes;
+    this.chars = chars;
+    this.offsets = offsets;
+    this.ids = ids;
+    this.size = size;
+  }
+
+  /**
+   * 紧凑存储一组值，重复的值只存一份
+   *
+   * @param values 值
+   * @return 只读列表
+   */
+  @NotNull
+  public static PackedStrings of(@NotNull Iterable<? extends CharSequence> values) {
+    final var builder = new Builder(true);
+    values.forEach(builder::add);
+    return builder.build();
+  }
+
+  @Override
+  public CharSequence get(int index) {
+    final var id = ids == null ? checkIndex(index) : ids[checkIndex(index)];
+    return new Value(offsets[id], offsets[id + 1]);
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("下标越界：" + index + "，长度：" + size);
+    }
+    return index;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 按内容查找，可以是 {@link String} 等任意 {@link CharSequence}
+   */
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  /**
+   * 按内容查找，可以是 {@link String} 等任意 {@link CharSequence}
+   */
+  @Override
+  public int indexOf(Object o) {
+    final var id = find(o, false);
+    if (id < 0 || ids == null) {
+      return id;
+    }
+    for (int i = 0; i < size; i++) {
+      if (ids[i] == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 按内容查找，可以是 {@link String} 等任意 {@link CharSequence}
+   */
+  @Override
+  public int lastIndexOf(Object o) {
+    // 不合并重复的值时每个元素是一个不同值，从后向前查找
+    final var id = find(o, ids == null);
+    if (id < 0 || ids == null) {
+      return id;
+    }
+    for (int i = size - 1; i >= 0; i--) {
+      if (ids[i] == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 按内容逐个比较元素，另一个列表的元素可以是 {@link String} 等任意 {@link CharSequence}
+   *
+   * @param values 另一个列表
+   * @return 元素个数相同且各元素内容相同
+   */
+  public boolean contentEquals(@NotNull List<? extends CharSequence> values) {
+    if (values.size() != size) {
+      return false;
+    }
+    int i = 0;
+    for (var value : values) {
+      if (value == null || CharSequence.compare(get(i++), value) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * 在不同值中查找内容相同的值，不创建视图
+   *
+   * @param reverse 是否从后向前查找
+   * @return 不同值编号，没有时为-1
+   */
+  private int find(Object o, boolean reverse) {
+    if (!(o instanceof CharSequence chars)) {
+      return -1;
+    }
+    final var length = chars.length();
+    final var distinct = offsets.length - 1;
+    for (int n = 0; n < distinct; n++) {
+      final var id = reverse ? distinct - 1 - n : n;
+      final var from = offsets[id];
+      if (offsets[id + 1] - from == length && matches(from, chars, length)) {
+        return id;
+      }
+    }
+    return -1;
+  }
+
+  private boolean matches(int from, CharSequence chars, int length) {
+    for (int i = 0; i < length; i++) {
+      if (charAt(from + i) != chars.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return 不同值的个数
+   */
+  public int distinct() {
+    return offsets.length - 1;
+  }
+
+  private char charAt(int position) {
+    return chars == null ? (char) (bytes[position] & 0xFF) : chars[position];
+  }
+
+  private String string(int from, int to) {
+    return chars == null
+        ? new String(bytes, from, to - from, StandardCharsets.ISO_8859_1)
+        : new String(chars, from, to - from);
+  }
+
+  /**
+   * 字符数组上的一个值
+   */
+  private final class Value implements CharSequence {
+
+    private final int from;
+    private final int to;
+
+    private Value(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public int length() {
+      return to - from;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length()) {
+        throw new IndexOutOfBoundsException("下标越界：" + index + "，长度：" + length());
+      }
+      return PackedStrings.this.charAt(from + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > length() || start > end) {
+        throw new IndexOutOfBoundsException("区间越界：[" + start + ", " + end + ")");
+      }
+      return new Value(from + start, from + end);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o
+          || o instanceof PackedStrings.Value value && CharSequence.compare(this, value) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 0;
+      for (int i = from; i < to; i++) {
+        hash = 31 * hash + PackedStrings.this.charAt(i);
+      }
+      return hash;
+    }
+
+    @Override
+    public String toString() {
+      return string(from, to);
+    }
+  }
+
+  /**
+   * 逐个追加值，构造紧凑存储的列表
+   */
+  public static final class Builder {
+
+    private final boolean deduplicate;
+    private byte[] bytes = new byte[64];
+    private char[] chars;
+    private int length;
+    private int[] offsets = new int[16];
+    private int distinct;
+    private int[] ids = new int[16];
+    private int size;
+    /**
+     * 开放寻址哈希表：不同值编号 + 1，0为空槽
+     */
+    private int[] table;
+
+    /**
+     * @param deduplicate 是否合并重复的值
+     */
+    public Builder(boolean deduplicate) {
+      this.deduplicate = deduplicate;
+      this.table = deduplicate ? new int[32] : null;
+    }
+
+    /**
+     * 追加值，字符被复制到数组中
+     *
+     * @param value 值
+     * @return this
+     */
+    @NotNull
+    public Builder add(@NotNull CharSequence value) {
+      final var start = length;
+      append(value);
+      var id = distinct;
+      if (deduplicate) {
+        final var existing = find(start);
+        if (existing >= 0) {
+          // 已有相同的值，撤销刚追加的字符
+          length = start;
+          id = existing;
+        }
+      }
+      if (id == distinct) {
+        if (distinct + 1 >= offsets.length) {
+          offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[distinct] = start;
+        offsets[++distinct] = length;
+        if (deduplicate) {
+          insert(id, hash(start, length));
+        }
+      }
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = id;
+      return this;
+    }
+
+    private void append(CharSequence value) {
+      final var valueLength = value.length();
+      ensureCapacity(length + valueLength);
+      for (int i = 0; i < valueLength; i++) {
+        final var c = value.charAt(i);
+        if (chars == null && c > 0xFF) {
+          inflate();
+        }
+        if (chars == null) {
+          bytes[length++] = (byte) c;
+        } else {
+          chars[length++] = c;
+        }
+      }
+    }
+
+    private void ensureCapacity(int capacity) {
+      final var current = chars == null ? bytes.length : chars.length;
+      if (capacity <= current) {
+        return;
+      }
+      final var grown = Math.max(capacity, current * 2);
+      if (chars == null) {
+        bytes = Arrays.copyOf(bytes, grown);
+      } else {
+        chars = Arrays.copyOf(chars, grown);
+      }
+    }
+
+    /**
+     * 出现非Latin-1字符时，改为每个字符两个字节
+     */
+    private void inflate() {
+      chars = new char[bytes.length];
+      for (int i = 0; i < length; i++) {
+        chars[i] = (char) (bytes[i] & 0xFF);
+      }
+      bytes = null;
+    }
+
+    private char charAt(int position) {
+      return chars == null ? (char) (bytes[position] & 0xFF) : chars[position];
+    }
+
+    private int hash(int from, int to) {
+      int hash = 0;
+      for (int i = from; i < to; i++) {
+        hash = 31 * hash + charAt(i);
+      }
+      return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 查找与 [start, length) 相同的已有值
+     *
+     * @return 不同值编号，没有时为-1
+     */
+    private int find(int start) {
+      final var mask = table.length - 1;
+      for (int slot = hash(start, length) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+        final var id = table[slot] - 1;
+        if (equals(offsets[id], offsets[id + 1], start, length)) {
+          return id;
+        }
+      }
+      return -1;
+    }
+
+    private boolean equals(int from, int to, int otherFrom, int otherTo) {
+      if (to - from != otherTo - otherFrom) {
+        return false;
+      }
+      for (int i = 0; i < to - from; i++) {
+        if (charAt(from + i) != charAt(otherFrom + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void insert(int id, int hash) {
+      if (distinct * 2 > table.length) {
+        final var old = table;
+        table = new int[old.length * 2];
+        for (var entry : old) {
+          if (entry != 0) {
+            put(entry, hash(offsets[entry - 1], offsets[entry]));
+          }
+        }
+      }
+      put(id + 1, hash);
+    }
+
+    private void put(int entry, int hash) {
+      final var mask = table.length - 1;
+      int slot = hash & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = entry;
+    }
+
+    /**
+     * @return 只读列表，数组按实际长度截断
+     */
+    @NotNull
+    public PackedStrings build() {
+      return new PackedStrings(
+          chars == null ? Arrays.copyOf(bytes, length) : null,
+          chars == null ? null : Arrays.copyOf(chars, length),
+          Arrays.copyOf(offsets, distinct + 1),
+          distinct == size ? null : Arrays.copyOf(ids, size),
+          size);
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package geektime.tdd.args;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 解释结果缓存：同一目标对象类、相同的命令行参数直接返回已经构造的目标对象实例
+ * <p>
+ * 缓存的实例会被所有命中者共享，目标对象应当是不可变的。有数组类型选项的目标对象类不缓存，
+ * 每次都重新解释：数组可以被任何一个命中者修改；集合类型的选项值是只读的，可以缓存。
+ * 其它可变的参数值类型（如自定义解释器返回的可变对象）同样会被共享，调用者不应修改。
+ * <p>
+ * 条目数和估算的内存占用任一超过上限即淘汰最近最少使用的条目。内存占用只估算键，
+ * 即命令行参数的字符数及固定开销，不估算目标对象实例：实例的大小取决于自定义的参数值类型，无法可靠估算，
+ * 而实例由命令行参数构造，通常与其大小相当；<code>maximumWeight</code> 限制的是键所占用的内存。
+ * 解释失败不缓存；默认注册器有新的注册后，按旧注册解释的结果视为未命中。
+ * 按 {@link Args#parse(Class, String...)} 解释，<code>@path</code> 参数不展开，因此结果只取决于命令行参数。
+ * <p>
+ * 命中不加锁：条目存放在 {@link ConcurrentHashMap} 中，命中只记录访问时间，计数使用 {@link LongAdder}；
+ * 只有放入和淘汰在锁内进行。淘汰时轮流抽取若干条目，移除其中最久未访问的一个，
+ * 条目数不超过抽样个数时与严格的最近最少使用一致。
+ * 键的哈希值在构造时计算一次；查找不复制命令行参数，只有未命中后放入缓存时才复制。
+ *
+ * @author 李小平
+ */
+public final class ParseCache {
+
+  /**
+   * 每个条目的固定开销估算：键、值引用、哈希表节点、参数数组头
+   */
+  private static final long ENTRY_OVERHEAD = 96L;
+
+  /**
+   * 每个命令行参数的固定开销估算：字符串对象头及数组引用
+   */
+  private static final long ARGUMENT_OVERHEAD = 48L;
+
+  /**
+   * 每次淘汰抽取的条目数
+   */
+  private static final int SAMPLES = 16;
+
+  private final int maximumSize;
+  private final long maximumWeight;
+  private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * 以下字段只在锁内访问
+   */
+  private long weight;
+  private long evictions;
+  /**
+   * 淘汰抽样的位置，每次从上次停下的地方继续，到末尾后重新开始
+   */
+  private Iterator<Map.Entry<Key, Entry>> sweep = Collections.emptyIterator();
+
+  /**
+   * @param maximumSize   最多缓存的条目数
+   * @param maximumWeight 估算的键的最大内存占用（字节）
+   * @throws IllegalArgumentException 上限不是正数
+   */
+  public ParseCache(int maximumSize, long maximumWeight) {
+    if (maximumSize <= 0 || maximumWeight <= 0) {
+      throw new IllegalArgumentException(
+          "缓存上限必须是正数：" + maximumSize + "，" + maximumWeight);
+    }
+    this.maximumSize = maximumSize;
+    this.maximumWeight = maximumWeight;
+  }
+
+  /**
+   * 解释命令行参数，命中时返回缓存的目标对象实例
+   * <p>
+   * 目标对象类有数组类型的选项时不查找缓存，直接解释并返回新的实例，不计入统计。
+   *
+   * @param optionsClass 目标对象类
+   * @param cmdLines     命令行参数
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   */
+  @NotNull
+  public <T> T parse(@NotNull Class<T> optionsClass, String... cmdLines) {
+    final var parser = ArgsParser.of(optionsClass);
+    if (!parser.shareable()) {
+      return parser.parse(cmdLines);
+    }
+    final var version = OptionParserRegistry.global().version();
+    final var key = new Key(optionsClass, cmdLines);
+    final var entry = entries.get(key);
+    if (entry != null && entry.version == version) {
+      entry.accessed = System.nanoTime();
+      hits.increment();
+      return optionsClass.cast(entry.value);
+    }
+    misses.increment();
+
+    final var stored = new Key(optionsClass, cmdLines.clone(), key.hash);
+    final var value = parser.parse(stored.cmdLines);
+    final var weighed = stored.weight();
+    synchronized (this) {
+      final var previous = entries.put(stored, new Entry(value, version, weighed));
+      if (previous != null) {
+        weight -= previous.weight;
+      }
+      weight += weighed;
+      evict();
+    }
+    return value;
+  }
+
+  private void evict() {
+    while (entries.size() > maximumSize || weight > maximumWeight) {
+      Map.Entry<Key, Entry> eldest = null;
+      final var samples = Math.min(SAMPLES, entries.size());
+      for (int i = 0; i < samples; i++) {
+        if (!sweep.hasNext()) {
+          sweep = entries.entrySet().iterator();
+        }
+        final var candidate = sweep.next();
+        if (eldest == null || candidate.getValue().accessed < eldest.getValue().accessed) {
+          eldest = candidate;
+        }
+      }
+      // 迭代器是弱一致的，可能返回已被替换或移除的条目，按值移除保证只移除当前条目
+      if (eldest != null && entries.remove(eldest.getKey(), eldest.getValue())) {
+        weight -= eldest.getValue().weight;
+        evictions++;
+      }
+    }
+  }
+
+  /**
+   * 清空缓存，统计数据保留
+   */
+  public synchronized void invalidateAll() {
+    entries.clear();
+    weight = 0L;
+    sweep = Collections.emptyIterator();
+  }
+
+  /**
+   * @return 当前的命中、未命中、淘汰次数及条目数、估算的键的内存占用
+   */
+  @NotNull
+  public synchronized Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions, entries.size(), weight);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "ParseCache[" + stats() + "]";
+  }
+
+  /**
+   * 缓存统计
+   *
+   * @param hits      命中次数
+   * @param misses    未命中次数
+   * @param evictions 淘汰次数
+   * @param size      当前条目数
+   * @param weight    当前估算的键的内存占用（字节）
+   */
+  public record Stats(long hits, long misses, long evictions, int size, long weight) {
+
+    /**
+     * @return 命中率，没有查找时为0
+     */
+    public double hitRate() {
+      final var requests = hits + misses;
+      return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+  }
+
+  /**
+   * 缓存键：目标对象类和命令行参数，哈希值预先计算
+   */
+  private static final class Key {
+
+    private final Class<?> optionsClass;
+    private final String[] cmdLines;
+    private final int hash;
+
+    private Key(Class<?> optionsClass, String[] cmdLines) {
+      this(optionsClass, cmdLines, 31 * optionsClass.hashCode() + Arrays.hashCode(cmdLines));
+    }
+
+    private Key(Class<?> optionsClass, String[] cmdLines, int hash) {
+      this.optionsClass = optionsClass;
+      this.cmdLines = cmdLines;
+      this.hash = hash;
+    }
+
+    private long weight() {
+      long weight = ENTRY_OVERHEAD;
+      for (var cmdLine : cmdLines) {
+        weight += ARGUMENT_OVERHEAD + 2L * cmdLine.length();
+      }
+      return weight;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || o instanceof Key key && hash == key.hash
+          && optionsClass == key.optionsClass && Arrays.equals(cmdLines, key.cmdLines);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /**
+   * 缓存条目：目标对象实例、解释时的注册版本、估算的键的内存占用和最近访问时间
+   */
+  private static final class Entry {
+
+    private final Object value;
+    private final long version;
+    private final long weight;
+    private volatile long accessed = System.nanoTime();
+
+    private Entry(Object value, long version, long weight) {
+      this.value = value;
+      this.version = version;
+      this.weight = weight;
+    }
+  }
+}
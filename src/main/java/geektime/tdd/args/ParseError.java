@@ -0,0 +1,69 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
+import geektime.tdd.args.exception.ResponseFileException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 命令行参数解释错误，错误信息在需要时才拼接
+ *
+ * @param option     选项标识，参数文件错误时为 <code>@path</code> 参数本身
+ * @param kind       错误类型
+ * @param tokenIndex 出错的命令行参数位置
+ * @param values     选项参数值列表（原始值），参数文件错误时为参数文件路径
+ * @param cause      参数值解释器抛出的异常，没有时为null
+ * @author 李小平
+ */
+public record ParseError(String option, ErrorKind kind, int tokenIndex, List<String> values,
+                         Throwable cause) {
+
+  /**
+   * @return 错误信息
+   */
+  @NotNull
+  public String message() {
+    return switch (kind) {
+      case INSUFFICIENT_ARGUMENTS -> option + "对应的参数值个数不足";
+      case TOO_MANY_ARGUMENTS -> option + "对应的参数值个数过多";
+      case ILLEGAL_VALUE -> option + "对应的参数值:" + values + "格式不对";
+      case UNKNOWN_OPTION -> "未知选项:" + option;
+      case RESPONSE_FILE -> "读取命令行参数文件失败:" + values.get(0);
+    };
+  }
+
+  /**
+   * 转换为 {@link Args#parse(Class, String...)} 抛出的异常
+   *
+   * @return 异常
+   */
+  @NotNull
+  public RuntimeException toException() {
+    return toException(true);
+  }
+
+  /**
+   * 转换为 {@link Args#parse(Class, String...)} 抛出的异常
+   *
+   * @param writableStackTrace 是否采集调用栈
+   * @return 异常
+   */
+  @NotNull
+  public RuntimeException toException(boolean writableStackTrace) {
+    return switch (kind) {
+      case INSUFFICIENT_ARGUMENTS -> new InsufficientArgumentsException(
+          option, tokenIndex, writableStackTrace);
+      case TOO_MANY_ARGUMENTS -> new TooManyArgumentsException(
+          option, tokenIndex, writableStackTrace);
+      case ILLEGAL_VALUE -> new IllegalOptionValueException(
+          option, values, tokenIndex, cause, writableStackTrace);
+      case UNKNOWN_OPTION -> new UnknownOptionException(
+          option, tokenIndex, writableStackTrace);
+      case RESPONSE_FILE -> new ResponseFileException(
+          values.get(0), tokenIndex, cause, writableStackTrace);
+    };
+  }
+}
@@ -0,0 +1,20 @@
+package geektime.tdd.args;
+
+/**
+ * 不采集调用栈的解释失败信号，只在 {@link Args#tryParse(Class, String...)} 内部传递错误
+ *
+ * @author 李小平
+ */
+final class ParseFailure extends RuntimeException {
+
+  private final transient ParseError error;
+
+  ParseFailure(ParseError error) {
+    super(null, null, false, false);
+    this.error = error;
+  }
+
+  ParseError error() {
+    return error;
+  }
+}
@@ -0,0 +1,419 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
+import geektime.tdd.args.exception.LackOptionException;
+import geektime.tdd.args.exception.LackParserException;
+import geektime.tdd.args.exception.ResponseFileException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import geektime.tdd.args.instrument.Instrumentations;
+import geektime.tdd.args.instrument.ParseInstrumentation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 目标对象解释计划
+ * <p>
+ * 目标对象类的构造器、参数标注及对应的解释器只在编译计划时反射解析一次，
+ * 之后每次解释命令行参数都直接按顺序调用解释器，不再做任何反射。
+ * 目标对象通过绑定构造器的 {@link MethodHandle} 创建，便于JIT内联；
+ * 全部选项标识构造为 {@link FlagTable}，按计划解释时据此对命令行中的选项标识分类。
+ *
+ * @param <T> 目标对象类
+ * @author 李小平
+ */
+final class ParsePlan<T> {
+
+  private final Class<?> optionsClass;
+  /**
+   * 目标对象工厂：(Object[]) -&gt; Object
+   */
+  private final MethodHandle factory;
+  private final Option[] options;
+  private final OptionParser<?>[] parsers;
+  /**
+   * 构造器参数类型
+   */
+  private final Class<?>[] types;
+  private final FlagTable flags;
+
+  private ParsePlan(Class<?> optionsClass, MethodHandle factory, Option[] options,
+      OptionParser<?>[] parsers, Class<?>[] types) {
+    this(optionsClass, factory, options, parsers, types,
+        FlagTable.of(Arrays.stream(options).map(Option::value).toList()));
+  }
+
+  private ParsePlan(Class<?> optionsClass, MethodHandle factory, Option[] options,
+      OptionParser<?>[] parsers, Class<?>[] types, FlagTable flags) {
+    this.optionsClass = optionsClass;
+    this.factory = factory;
+    this.options = options;
+    this.parsers = parsers;
+    this.types = types;
+    this.flags = flags;
+  }
+
+  /**
+   * @return 目标对象定义的选项标识，按构造器参数顺序
+   */
+  @NotNull
+  List<String> flagNames() {
+    return Arrays.stream(options).map(Option::value).toList();
+  }
+
+  /**
+   * 使用多个目标对象共享的分派表，命令行参数索引按共享分派表只分类一次即可供各个目标对象使用
+   *
+   * @param shared 包含本计划全部选项标识的分派表
+   * @return 解释计划
+   */
+  @NotNull
+  ParsePlan<T> withFlags(@NotNull FlagTable shared) {
+    return new ParsePlan<>(optionsClass, factory, options, parsers, types, shared);
+  }
+
+  /**
+   * 编译目标对象类的解释计划
+   *
+   * @param optionsClass 目标对象类
+   * @param register     参数值解释器注册器
+   * @param <T>          目标对象类
+   * @return 解释计划
+   * @throws LackOptionException 构造器参数缺少@Option
+   * @throws LackParserException 构造器参数类型没有注册解释器
+   */
+  @NotNull
+  static <T> ParsePlan<T> compile(Class<T> optionsClass,
+      Map<Class<?>, OptionParser<?>> register) {
+    return compile(optionsClass, parameter -> register.get(parameter.getType()));
+  }
+
+  /**
+   * 编译目标对象类的解释计划
+   *
+   * @param optionsClass 目标对象类
+   * @param registry     参数值解释器注册器
+   * @param <T>          目标对象类
+   * @return 解释计划
+   * @throws LackOptionException 构造器参数缺少@Option
+   * @throws LackParserException 构造器参数类型没有注册解释器
+   */
+  @NotNull
+  static <T> ParsePlan<T> compile(Class<T> optionsClass, OptionParserRegistry registry) {
+    return compile(optionsClass,
+        parameter -> registry.find(parameter.getParameterizedType()));
+  }
+
+  @NotNull
+  private static <T> ParsePlan<T> compile(Class<T> optionsClass,
+      Function<Parameter, OptionParser<?>> parserOf) {
+    final Constructor<?> constructor = (optionsClass.isInterface()
+        ? implementationOf(optionsClass) : optionsClass).getDeclaredConstructors()[0];
+    final Parameter[] parameters = constructor.getParameters();
+
+    final var options = new Option[parameters.length];
+    final var parsers = new OptionParser<?>[parameters.length];
+    final var types = new Class<?>[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      final var parameter = parameters[i];
+      final Class<?> parameterType = parameter.getType();
+      types[i] = parameterType;
+
+      parsers[i] = parserOf.apply(parameter);
+      if (parsers[i] == null) {
+        throw new LackParserException("类型：" + parameterType.getCanonicalName()
+            + "的" + parameter.getName() + "没有注册解释器");
+      }
+
+      options[i] = parameter.getAnnotation(Option.class);
+      if (options[i] == null) {
+        throw new LackOptionException(parameter.getName() + "缺少@Option.");
+      }
+    }
+
+    return new ParsePlan<>(optionsClass, factoryOf(constructor), options, parsers, types);
+  }
+
+  /**
+   * 查找注解处理器为选项视图接口生成的实现类：同包下的 XxxImpl，嵌套接口以 _ 连接外部类名
+   *
+   * @param view 选项视图接口
+   * @return 实现类
+   */
+  @NotNull
+  private static Class<?> implementationOf(Class<?> view) {
+    final var packageName = view.getPackageName();
+    final var prefix = packageName.isEmpty() ? "" : packageName + ".";
+    final var implName = prefix
+        + view.getName().substring(prefix.length()).replace('$', '_') + "Impl";
+    try {
+      return Class.forName(implName, true, view.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new ArgumentParseException("接口：" + view.getCanonicalName()
+          + "没有生成实现类" + implName + "，需要启用注解处理器", e);
+    }
+  }
+
+  /**
+   * 按计划解释命令行参数，解释失败时返回错误而不抛出异常
+   *
+   * @param index 命令行参数索引
+   * @return 解释结果
+   */
+  @NotNull
+  ParseResult<T> tryParse(ArgumentIndex index) {
+    return tryParse(index, false);
+  }
+
+  /**
+   * 按计划解释命令行参数，解释失败时返回错误而不抛出异常
+   *
+   * @param index  命令行参数索引
+   * @param strict 命令行中存在未定义的选项标识时是否报错
+   * @return 解释结果
+   */
+  @NotNull
+  ParseResult<T> tryParse(ArgumentIndex index, boolean strict) {
+    return tryParse(index, strict, 0L);
+  }
+
+  /**
+   * 按计划解释命令行参数，解释失败时返回错误而不抛出异常
+   *
+   * @param index         命令行参数索引
+   * @param strict        命令行中存在未定义的选项标识时是否报错
+   * @param tokenizeStart 开始遍历命令行参数的时间（{@link System#nanoTime()}），只在启用埋点时使用，未知时为0
+   * @return 解释结果
+   */
+  @NotNull
+  ParseResult<T> tryParse(ArgumentIndex index, boolean strict, long tokenizeStart) {
+    try {
+      return ParseResult.success(parse(index.withStacklessFailures(), strict, tokenizeStart));
+    } catch (ParseFailure e) {
+      return ParseResult.failure(e.error());
+    }
+  }
+
+  /**
+   * 将构造器绑定为 (Object[]) -&gt; Object 形式的方法句柄
+   *
+   * @param constructor 目标对象构造器
+   * @return 目标对象工厂
+   */
+  @NotNull
+  private static MethodHandle factoryOf(Constructor<?> constructor) {
+    try {
+      return MethodHandles.lookup().unreflectConstructor(constructor)
+          .asSpreader(Object[].class, constructor.getParameterCount())
+          .asType(MethodType.methodType(Object.class, Object[].class));
+    } catch (IllegalAccessException e) {
+      throw new ArgumentParseException("命令行参数解释失败.", e);
+    }
+  }
+
+  /**
+   * 按计划解释命令行参数
+   *
+   * @param index 命令行参数索引
+   * @return 目标对象实例
+   */
+  @NotNull
+  T parse(ArgumentIndex index) {
+    return parse(index, false);
+  }
+
+  /**
+   * 按计划解释命令行参数
+   *
+   * @param index  命令行参数索引
+   * @param strict 命令行中存在未定义的选项标识时是否报错
+   * @return 目标对象实例
+   * @throws UnknownOptionException strict为true且存在未定义的选项标识
+   */
+  @NotNull
+  T parse(ArgumentIndex index, boolean strict) {
+    return parse(index, strict, 0L);
+  }
+
+  /**
+   * 按计划解释命令行参数，启用埋点时记录各阶段耗时、出现的选项及错误
+   *
+   * @param index         命令行参数索引
+   * @param strict        命令行中存在未定义的选项标识时是否报错
+   * @param tokenizeStart 开始遍历命令行参数的时间（{@link System#nanoTime()}），只在启用埋点时使用，未知时为0
+   * @return 目标对象实例
+   * @throws UnknownOptionException strict为true且存在未定义的选项标识
+   */
+  @NotNull
+  T parse(ArgumentIndex index, boolean strict, long tokenizeStart) {
+    final var instrumentation = Instrumentations.current();
+    if (instrumentation != ParseInstrumentation.NOOP) {
+      return parse(index, strict, instrumentation,
+          tokenizeStart == 0L ? System.nanoTime() : tokenizeStart);
+    }
+
+    final var bound = bind(index, strict);
+    final var argsValues = new Object[parsers.length];
+    for (int i = 0; i < parsers.length; i++) {
+      argsValues[i] = parsers[i].parse(bound, options[i]);
+    }
+    return instantiate(argsValues);
+  }
+
+  private T parse(ArgumentIndex index, boolean strict, ParseInstrumentation instrumentation,
+      long tokenizeStart) {
+    try {
+      final var bound = bind(index, strict);
+      final var convertStart = System.nanoTime();
+      final var argsValues = new Object[parsers.length];
+      for (int i = 0; i < parsers.length; i++) {
+        final var range = bound.range(options[i]);
+        if (range != null) {
+          instrumentation.optionPresent(optionsClass, options[i].value(), range.size());
+        }
+        argsValues[i] = parsers[i].parse(bound, options[i]);
+      }
+      final var instantiateStart = System.nanoTime();
+      final var instance = instantiate(argsValues);
+      instrumentation.parsed(optionsClass, convertStart - tokenizeStart,
+          instantiateStart - convertStart, System.nanoTime() - instantiateStart);
+      return instance;
+    } catch (ParseFailure e) {
+      instrumentation.failed(optionsClass, e.error().option(), e.error().kind(),
+          exceptionTypeOf(e.error().kind()));
+      throw e;
+    } catch (RuntimeException e) {
+      failed(instrumentation, e);
+      throw e;
+    }
+  }
+
+  /**
+   * @return 目标对象的选项，按构造器参数顺序
+   */
+  @NotNull
+  Option[] options() {
+    return options.clone();
+  }
+
+  /**
+   * @return 各选项是否为不带参数值的布尔选项，按构造器参数顺序
+   */
+  @NotNull
+  boolean[] switches() {
+    final var switches = new boolean[parsers.length];
+    for (int i = 0; i < parsers.length; i++) {
+      switches[i] = parsers[i] instanceof BooleanOptionParser;
+    }
+    return switches;
+  }
+
+  /**
+   * @return 各选项是否为数组、集合等多值类型，按构造器参数顺序
+   */
+  @NotNull
+  boolean[] lists() {
+    final var lists = new boolean[types.length];
+    for (int i = 0; i < types.length; i++) {
+      lists[i] = types[i].isArray() || Collection.class.isAssignableFrom(types[i]);
+    }
+    return lists;
+  }
+
+  /**
+   * @return 是否有数组类型的选项；数组可以被修改，这样的目标对象实例不能被多个调用者共享
+   */
+  boolean hasArrays() {
+    for (var type : types) {
+      if (type.isArray()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 只解释第i个选项的参数值
+   *
+   * @param i     选项序号，按构造器参数顺序
+   * @param bound 按本计划分派表分类的命令行参数索引
+   * @return 选项值
+   */
+  Object convert(int i, ArgumentIndex bound) {
+    return parsers[i].parse(bound, options[i]);
+  }
+
+  /**
+   * 按本计划的分派表对命令行参数索引分类
+   *
+   * @param index  命令行参数索引
+   * @param strict 命令行中存在未定义的选项标识时是否报错
+   * @return 分类后的命令行参数索引
+   * @throws UnknownOptionException strict为true且存在未定义的选项标识
+   */
+  @NotNull
+  ArgumentIndex bind(ArgumentIndex index, boolean strict) {
+    final var bound = index.bind(flags);
+    if (strict && bound.unknownFlag() >= 0) {
+      throw bound.unknownFlagFailure();
+    }
+    return bound;
+  }
+
+  /**
+   * 以各个选项值创建目标对象
+   *
+   * @param argsValues 选项值，按构造器参数顺序
+   * @return 目标对象实例
+   */
+  @SuppressWarnings("unchecked")
+  T instantiate(Object[] argsValues) {
+    try {
+      return (T) (Object) factory.invokeExact(argsValues);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new ArgumentParseException("命令行参数解释失败.", e);
+    }
+  }
+
+  private void failed(ParseInstrumentation instrumentation, RuntimeException e) {
+    if (e instanceof InsufficientArgumentsException insufficient) {
+      instrumentation.failed(optionsClass, insufficient.getOption(),
+          ErrorKind.INSUFFICIENT_ARGUMENTS, e.getClass());
+    } else if (e instanceof TooManyArgumentsException tooMany) {
+      instrumentation.failed(optionsClass, tooMany.getOption(),
+          ErrorKind.TOO_MANY_ARGUMENTS, e.getClass());
+    } else if (e instanceof IllegalOptionValueException illegal) {
+      instrumentation.failed(optionsClass, illegal.getOption(), ErrorKind.ILLEGAL_VALUE,
+          e.getClass());
+    } else if (e instanceof UnknownOptionException unknown) {
+      instrumentation.failed(optionsClass, unknown.getOption(), ErrorKind.UNKNOWN_OPTION,
+          e.getClass());
+    } else {
+      instrumentation.failed(optionsClass, null, null, e.getClass());
+    }
+  }
+
+  private static Class<? extends RuntimeException> exceptionTypeOf(ErrorKind kind) {
+    return switch (kind) {
+      case INSUFFICIENT_ARGUMENTS -> InsufficientArgumentsException.class;
+      case TOO_MANY_ARGUMENTS -> TooManyArgumentsException.class;
+      case ILLEGAL_VALUE -> IllegalOptionValueException.class;
+      case UNKNOWN_OPTION -> UnknownOptionException.class;
+      case RESPONSE_FILE -> ResponseFileException.class;
+    };
+  }
+}
@@ -0,0 +1,69 @@
+package geektime.tdd.args;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 命令行参数解释结果：目标对象实例、解释错误，或解释中抛出的其它异常（只在批量解释中出现）
+ *
+ * @param <T> 目标对象类
+ * @author 李小平
+ */
+public final class ParseResult<T> {
+
+  private final T value;
+  private final ParseError error;
+  private final RuntimeException exception;
+
+  private ParseResult(T value, ParseError error, RuntimeException exception) {
+    this.value = value;
+    this.error = error;
+    this.exception = exception;
+  }
+
+  @NotNull
+  static <T> ParseResult<T> success(T value) {
+    return new ParseResult<>(value, null, null);
+  }
+
+  @NotNull
+  static <T> ParseResult<T> failure(ParseError error) {
+    return new ParseResult<>(null, error, null);
+  }
+
+  @NotNull
+  static <T> ParseResult<T> failure(RuntimeException exception) {
+    return new ParseResult<>(null, null, exception);
+  }
+
+  public boolean isSuccess() {
+    return error == null && exception == null;
+  }
+
+  /**
+   * @return 目标对象实例
+   * @throws RuntimeException 解释失败时抛出与 {@link Args#parse(Class, String...)} 相同的异常
+   */
+  public T value() {
+    if (error != null) {
+      throw error.toException();
+    }
+    if (exception != null) {
+      throw exception;
+    }
+    return value;
+  }
+
+  /**
+   * @return 解释错误，解释成功时为null
+   */
+  public ParseError error() {
+    return error;
+  }
+
+  /**
+   * @return 解释错误以外的异常，例如目标对象构造器抛出的异常，没有时为null
+   */
+  public RuntimeException exception() {
+    return exception;
+  }
+}
@@ -0,0 +1,74 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.ArgumentIndex.Range;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 单次解释过程使用的临时缓冲区，按线程复用
+ * <p>
+ * 只在一次解释过程中使用，解释完成后必须 {@link #release()}；
+ * 同一线程嵌套解释时（例如选项解释器内部再次解释命令行参数）使用新的缓冲区。
+ *
+ * @author 李小平
+ */
+final class ParseScratch {
+
+  private static final ThreadLocal<ParseScratch> SCRATCH =
+      ThreadLocal.withInitial(ParseScratch::new);
+
+  private int[] flags = new int[16];
+  private Range[] ranges = new Range[16];
+  private boolean inUse;
+
+  private ParseScratch() {
+  }
+
+  /**
+   * @return 当前线程的临时缓冲区
+   */
+  @NotNull
+  static ParseScratch acquire() {
+    final var scratch = SCRATCH.get();
+    if (scratch.inUse) {
+      return new ParseScratch();
+    }
+    scratch.inUse = true;
+    return scratch;
+  }
+
+  void release() {
+    Arrays.fill(ranges, null);
+    inUse = false;
+  }
+
+  /**
+   * @return 选项标识位置缓冲区
+   */
+  int[] flags() {
+    return flags;
+  }
+
+  /**
+   * 扩容选项标识位置缓冲区
+   *
+   * @return 扩容后的缓冲区，保留原有内容
+   */
+  int[] growFlags() {
+    flags = Arrays.copyOf(flags, flags.length * 2);
+    return flags;
+  }
+
+  /**
+   * @param size 选项标识个数
+   * @return 清空的参数值区间缓冲区
+   */
+  Range[] ranges(int size) {
+    if (ranges.length < size) {
+      ranges = new Range[size];
+    } else {
+      Arrays.fill(ranges, 0, size, null);
+    }
+    return ranges;
+  }
+}
@@ -0,0 +1,143 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.ArgumentIndex.Range;
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.UnknownOptionException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 一次解释的快照：目标对象实例、各选项的参数值区间及已转换的选项值
+ * <p>
+ * 用 {@link #reparse(String...)} 解释新的命令行参数时，先对比新旧命令行中每个选项的参数值，
+ * 只对参数值有变化（包括新出现或消失）的选项调用解释器，其余选项直接复用上次转换的值，
+ * 例如很大的列表、数组；所有选项都没有变化时直接复用上次的目标对象实例。
+ * 新的命令行参数同样叠加解释器的选项来源，来源中的值有变化的选项也会重新解释。
+ * 快照不可变，可以被多个线程同时使用；每次重新解释都返回新的快照，解释失败时原快照不受影响。
+ *
+ * @param <T> 目标对象类
+ * @author 李小平
+ */
+public final class ParseSnapshot<T> {
+
+  /**
+   * 创建快照的解释器，用于叠加选项来源
+   */
+  private final ArgsParser<T> parser;
+  private final ParsePlan<T> plan;
+  private final boolean strict;
+  private final Option[] options;
+  /**
+   * 按本计划分派表分类的命令行参数索引
+   */
+  private final ArgumentIndex bound;
+  /**
+   * 按构造器参数顺序存放的参数值区间，选项不存在时为null
+   */
+  private final Range[] ranges;
+  private final Object[] values;
+  private final T value;
+  private final int converted;
+
+  private ParseSnapshot(ArgsParser<T> parser, ParsePlan<T> plan, boolean strict,
+      Option[] options, ArgumentIndex bound, Range[] ranges, Object[] values, T value,
+      int converted) {
+    this.parser = parser;
+    this.plan = plan;
+    this.strict = strict;
+    this.options = options;
+    this.bound = bound;
+    this.ranges = ranges;
+    this.values = values;
+    this.value = value;
+    this.converted = converted;
+  }
+
+  /**
+   * 完整解释命令行参数并创建快照
+   *
+   * @param parser   解释器，命令行参数按其选项来源叠加
+   * @param plan     解释器的解释计划
+   * @param strict   命令行中存在未定义的选项标识时是否报错
+   * @param cmdLines 命令行参数
+   * @param <T>      目标对象类
+   * @return 快照
+   */
+  @NotNull
+  static <T> ParseSnapshot<T> of(ArgsParser<T> parser, ParsePlan<T> plan, boolean strict,
+      String[] cmdLines) {
+    return parse(parser, plan, strict, plan.options(), cmdLines, null);
+  }
+
+  /**
+   * 解释新的命令行参数，只重新解释参数值有变化的选项
+   *
+   * @param cmdLines 新的命令行参数
+   * @return 新的快照
+   * @throws UnknownOptionException 解释器为严格模式且存在未定义的选项标识
+   */
+  @NotNull
+  public ParseSnapshot<T> reparse(String... cmdLines) {
+    return parse(parser, plan, strict, options, cmdLines, this);
+  }
+
+  private static <T> ParseSnapshot<T> parse(ArgsParser<T> parser, ParsePlan<T> plan,
+      boolean strict, Option[] options, String[] cmdLines, ParseSnapshot<T> previous) {
+    final var bound = plan.bind(parser.index(cmdLines.clone(), null, false), strict);
+    final var ranges = new Range[options.length];
+    final var values = new Object[options.length];
+    int converted = 0;
+    for (int i = 0; i < options.length; i++) {
+      ranges[i] = bound.range(options[i]);
+      if (previous != null && previous.unchanged(i, bound, ranges[i])) {
+        values[i] = previous.values[i];
+      } else {
+        values[i] = plan.convert(i, bound);
+        converted++;
+      }
+    }
+    final var value = previous != null && converted == 0
+        ? previous.value : plan.instantiate(values);
+    return new ParseSnapshot<>(parser, plan, strict, options, bound, ranges, values, value,
+        converted);
+  }
+
+  /**
+   * 判断第i个选项的参数值是否与本快照相同
+   */
+  private boolean unchanged(int i, ArgumentIndex index, Range range) {
+    final var previous = ranges[i];
+    if (previous == null || range == null) {
+      return previous == range;
+    }
+    if (previous.size() != range.size()) {
+      return false;
+    }
+    for (int offset = 0; offset < range.size(); offset++) {
+      if (CharSequence.compare(bound.token(previous.from() + offset),
+          index.token(range.from() + offset)) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return 目标对象实例
+   */
+  @NotNull
+  public T value() {
+    return value;
+  }
+
+  /**
+   * @return 本次解释中调用了解释器的选项个数，其余选项复用了上次的值
+   */
+  public int converted() {
+    return converted;
+  }
+
+  @Override
+  public String toString() {
+    return "ParseSnapshot[" + value + "]";
+  }
+}
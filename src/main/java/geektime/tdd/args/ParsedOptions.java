@@ -0,0 +1,46 @@
+package geektime.tdd.args;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link MultiArgsParser} 的解释结果：按目标对象类获取目标对象实例
+ *
+ * @author 李小平
+ */
+public final class ParsedOptions {
+
+  private final List<Class<?>> optionsClasses;
+  private final Object[] values;
+
+  ParsedOptions(List<Class<?>> optionsClasses, Object[] values) {
+    this.optionsClasses = optionsClasses;
+    this.values = values;
+  }
+
+  /**
+   * 获取目标对象实例
+   *
+   * @param optionsClass 目标对象类
+   * @param <T>          目标对象类
+   * @return 目标对象实例
+   * @throws IllegalArgumentException 解释器没有包含该目标对象类
+   */
+  @NotNull
+  public <T> T get(@NotNull Class<T> optionsClass) {
+    final var i = optionsClasses.indexOf(optionsClass);
+    if (i < 0) {
+      throw new IllegalArgumentException("没有解释目标对象类：" + optionsClass.getCanonicalName());
+    }
+    return optionsClass.cast(values[i]);
+  }
+
+  @Override
+  public String toString() {
+    final var text = new StringBuilder("ParsedOptions[");
+    for (int i = 0; i < values.length; i++) {
+      text.append(i == 0 ? "" : ", ").append(values[i]);
+    }
+    return text.append(']').toString();
+  }
+}
@@ -0,0 +1,201 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exception.ArgumentParseException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 命令行参数文件（<code>@path</code>）
+ * <p>
+ * 文件通过 {@link FileChannel#map} 映射到内存，直接在映射的字节上切分参数：
+ * 参数之间以空白字符分隔，引号规则与 {@link ArgumentTokenizer} 一致。
+ * 不含引号的ASCII参数以映射内存上的 {@link CharSequence} 视图返回，不复制字节；
+ * 其余参数按UTF-8解码为 {@link String}。
+ *
+ * @author 李小平
+ */
+final class ResponseFile {
+
+  /**
+   * 参数文件前缀
+   */
+  static final char PREFIX = '@';
+
+  private ResponseFile() {
+  }
+
+  /**
+   * 判断命令行参数是否引用参数文件
+   *
+   * @param token 命令行参数
+   * @return 是否为 <code>@path</code>
+   */
+  static boolean isReference(@NotNull CharSequence token) {
+    return token.length() > 1 && token.charAt(0) == PREFIX;
+  }
+
+  /**
+   * 切分参数文件中的命令行参数
+   *
+   * @param path  参数文件
+   * @param tokens 命令行参数接收者
+   */
+  static void tokenize(@NotNull Path path, @NotNull Consumer<CharSequence> tokens) {
+    final ByteBuffer buffer;
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final var size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new ArgumentParseException("命令行参数文件过大:" + path, null);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    } catch (IOException e) {
+      throw new ArgumentParseException("读取命令行参数文件失败:" + path, e);
+    }
+    tokenize(buffer, tokens);
+  }
+
+  /**
+   * 切分字节缓冲区中的命令行参数
+   *
+   * @param buffer 字节缓冲区
+   * @param tokens 命令行参数接收者
+   */
+  static void tokenize(@NotNull ByteBuffer buffer, @NotNull Consumer<CharSequence> tokens) {
+    final var limit = buffer.limit();
+    int position = buffer.position();
+    while (true) {
+      while (position < limit && isWhitespace(buffer.get(position))) {
+        position++;
+      }
+      if (position >= limit) {
+        return;
+      }
+
+      final var from = position;
+      boolean plain = true;
+      while (position < limit && !isWhitespace(buffer.get(position))) {
+        final var b = buffer.get(position);
+        if (b == '"' || b == '\'') {
+          plain = false;
+          position = skipQuoted(buffer, position, limit);
+        } else if (b < 0) {
+          plain = false;
+        }
+        position++;
+      }
+
+      tokens.accept(plain
+          ? new AsciiSequence(buffer, from, position - from)
+          : decode(buffer, from, position));
+    }
+  }
+
+  /**
+   * @return 结束引号的位置
+   */
+  private static int skipQuoted(ByteBuffer buffer, int position, int limit) {
+    final var quote = buffer.get(position);
+    for (position++; position < limit; position++) {
+      final var b = buffer.get(position);
+      if (b == quote) {
+        return position;
+      }
+      if (quote == '"' && b == '\\') {
+        position++;
+      }
+    }
+    throw new ArgumentParseException("命令行参数缺少结束引号:" + (char) quote, null);
+  }
+
+  /**
+   * 去掉引号及转义字符后按UTF-8解码
+   */
+  private static String decode(ByteBuffer buffer, int from, int to) {
+    final var bytes = new ByteArrayOutputStream(to - from);
+    byte quote = 0;
+    for (int position = from; position < to; position++) {
+      final var b = buffer.get(position);
+      if (quote == 0 && (b == '"' || b == '\'')) {
+        quote = b;
+      } else if (quote != 0 && b == quote) {
+        quote = 0;
+      } else if (quote == '"' && b == '\\' && position + 1 < to) {
+        bytes.write(buffer.get(++position));
+      } else {
+        bytes.write(b);
+      }
+    }
+    return bytes.toString(StandardCharsets.UTF_8);
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+  }
+
+  /**
+   * 字节缓冲区中一段ASCII字节的字符视图，视图之间按内容比较，哈希值与内容相同的 {@link String} 一致
+   */
+  static final class AsciiSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    AsciiSequence(ByteBuffer buffer, int offset, int length) {
+      this.buffer = buffer;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) buffer.get(offset + Objects.checkIndex(index, length));
+    }
+
+    @Override
+    @NotNull
+    public CharSequence subSequence(int start, int end) {
+      Objects.checkFromToIndex(start, end, length);
+      return new AsciiSequence(buffer, offset + start, end - start);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o
+          || o instanceof AsciiSequence sequence && CharSequence.compare(this, sequence) == 0;
+    }
+
+    /**
+     * @return 与内容相同的 {@link String} 一致的哈希值
+     */
+    @Override
+    public int hashCode() {
+      int hash = 0;
+      for (int i = 0; i < length; i++) {
+        hash = 31 * hash + (char) buffer.get(offset + i);
+      }
+      return hash;
+    }
+
+    @Override
+    @NotNull
+    public String toString() {
+      final var bytes = new byte[length];
+      buffer.get(offset, bytes);
+      return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import geektime.tdd.args.exception.UnknownSubcommandException;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 子命令分派：命令行第一个参数选择子命令，其余参数按该子命令的目标对象类解释
+ * <p>
+ * 子命令名在构造时编译为 {@link FlagTable}，分派只按字符查找一次。
+ * 以类名注册的目标对象类在第一次被选中时才加载，所有子命令的目标对象类都在第一次被选中时才编译解释计划，
+ * 因此启动开销与子命令个数无关。异常中的出错位置按完整命令行计算，子命令名为第0个参数。
+ * 构造一次之后可以被任意多个线程同时使用。
+ *
+ * @author 李小平
+ */
+public final class Subcommands {
+
+  private final FlagTable names;
+  private final Command[] commands;
+  private final boolean strict;
+
+  private Subcommands(FlagTable names, Command[] commands, boolean strict) {
+    this.names = names;
+    this.commands = commands;
+    this.strict = strict;
+  }
+
+  /**
+   * @return 子命令注册器
+   */
+  @NotNull
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return 子命令参数中存在目标对象没有定义的选项标识时报错 {@link UnknownOptionException} 的分派器
+   */
+  @NotNull
+  public Subcommands strict() {
+    return strict ? this : new Subcommands(names, commands, true);
+  }
+
+  /**
+   * 按第一个参数选择子命令，解释其余命令行参数
+   *
+   * @param cmdLines 命令行参数
+   * @return 子命令名及其目标对象实例
+   * @throws UnknownSubcommandException 命令行为空或第一个参数不是已注册的子命令
+   * @throws ArgumentParseException     以类名注册的目标对象类不存在
+   */
+  @NotNull
+  public ParsedCommand parse(String... cmdLines) {
+    if (cmdLines.length == 0) {
+      throw new UnknownSubcommandException("");
+    }
+    final var slot = names.find(cmdLines[0]);
+    if (slot == FlagTable.UNKNOWN) {
+      throw new UnknownSubcommandException(cmdLines[0]);
+    }
+
+    final var command = commands[slot];
+    final var parser = ArgsParser.of(command.optionsClass());
+    // 子命令名保留在原位置，出错位置与完整命令行一致
+    final Object options = (strict ? parser.strict() : parser).parse(cmdLines, 1);
+    return new ParsedCommand(command.name, options);
+  }
+
+  /**
+   * 子命令解释结果
+   *
+   * @param name    子命令名
+   * @param options 目标对象实例
+   */
+  public record ParsedCommand(@NotNull String name, @NotNull Object options) {
+
+    /**
+     * 按目标对象类获取目标对象实例
+     *
+     * @param optionsClass 目标对象类
+     * @param <T>          目标对象类
+     * @return 目标对象实例
+     * @throws ClassCastException 子命令的目标对象不是该类
+     */
+    @NotNull
+    public <T> T options(@NotNull Class<T> optionsClass) {
+      return optionsClass.cast(options);
+    }
+  }
+
+  /**
+   * 子命令注册器
+   */
+  public static final class Builder {
+
+    private final List<Command> commands = new ArrayList<>();
+    private ClassLoader classLoader = Subcommands.class.getClassLoader();
+
+    private Builder() {
+    }
+
+    /**
+     * 指定加载以类名注册的目标对象类的类加载器，默认为本库的类加载器；
+     * 在 {@link #build()} 时生效，对之前注册的子命令同样有效
+     *
+     * @param classLoader 类加载器
+     * @return this
+     */
+    @NotNull
+    public Builder classLoader(@NotNull ClassLoader classLoader) {
+      this.classLoader = classLoader;
+      return this;
+    }
+
+    /**
+     * 注册子命令，目标对象类在第一次选中该子命令时才编译解释计划
+     *
+     * @param name         子命令名
+     * @param optionsClass 目标对象类
+     * @return this
+     * @throws IllegalArgumentException 子命令名重复
+     */
+    @NotNull
+    public Builder command(@NotNull String name, @NotNull Class<?> optionsClass) {
+      return add(new Command(name, optionsClass.getName(), null, optionsClass));
+    }
+
+    /**
+     * 注册子命令，目标对象类在第一次选中该子命令时才加载
+     *
+     * @param name      子命令名
+     * @param className 目标对象类的全限定名
+     * @return this
+     * @throws IllegalArgumentException 子命令名重复
+     */
+    @NotNull
+    public Builder command(@NotNull String name, @NotNull String className) {
+      return add(new Command(name, className, null, null));
+    }
+
+    private Builder add(Command command) {
+      if (command.name.isEmpty()) {
+        throw new IllegalArgumentException("子命令名不能为空");
+      }
+      for (var registered : commands) {
+        if (registered.name.equals(command.name)) {
+          throw new IllegalArgumentException("子命令重复：" + command.name);
+        }
+      }
+      commands.add(command);
+      return this;
+    }
+
+    /**
+     * @return 子命令分派器
+     */
+    @NotNull
+    public Subcommands build() {
+      final var table = FlagTable.of(commands.stream().map(command -> command.name).toList());
+      final var bySlot = new Command[table.size()];
+      for (var command : commands) {
+        // 以类名注册的子命令使用构造时的类加载器
+        bySlot[table.find(command.name)] = command.optionsClass == null
+            ? new Command(command.name, command.className, classLoader, null) : command;
+      }
+      return new Subcommands(table, bySlot, false);
+    }
+  }
+
+  /**
+   * 已注册的子命令，目标对象类按需加载
+   */
+  private static final class Command {
+
+    private final String name;
+    private final String className;
+    private final ClassLoader classLoader;
+    private volatile Class<?> optionsClass;
+
+    private Command(String name, String className, ClassLoader classLoader,
+        Class<?> optionsClass) {
+      this.name = name;
+      this.className = className;
+      this.classLoader = classLoader;
+      this.optionsClass = optionsClass;
+    }
+
+    private Class<?> optionsClass() {
+      var loaded = optionsClass;
+      if (loaded == null) {
+        try {
+          loaded = Class.forName(className, true, classLoader);
+        } catch (ClassNotFoundException e) {
+          throw new ArgumentParseException("子命令：" + name + "的目标对象类" + className + "不存在", e);
+        }
+        optionsClass = loaded;
+      }
+      return loaded;
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package geektime.tdd.args;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 直接从字符序列解释带单位或分隔符的选项值，不使用正则表达式，也不截取中间子串
+ *
+ * @author 李小平
+ */
+final class ValueParsers {
+
+  private static final long SECONDS_PER_MINUTE = 60L;
+  private static final long SECONDS_PER_HOUR = 60L * SECONDS_PER_MINUTE;
+  private static final long SECONDS_PER_DAY = 24L * SECONDS_PER_HOUR;
+  private static final int MAX_PORT = 0xFFFF;
+
+  private ValueParsers() {
+  }
+
+  /**
+   * 解释时长，如 <code>30s</code>、<code>5m</code>、<code>1h30m</code>、<code>250ms</code>
+   * <p>
+   * 单位为 <code>d/h/m/s/ms/us/ns</code>，可以带正负号；<code>P</code> 开头时按ISO-8601解释，
+   * 如 <code>PT30S</code>；只有 <code>0</code> 可以省略单位。
+   *
+   * @param chars 时长文本
+   * @return 时长
+   * @throws IllegalArgumentException 格式不对或超出范围
+   */
+  @NotNull
+  static Duration parseDuration(@NotNull CharSequence chars) {
+    final var length = chars.length();
+    int position = 0;
+    boolean negative = false;
+    if (length > 0 && (chars.charAt(0) == '-' || chars.charAt(0) == '+')) {
+      negative = chars.charAt(0) == '-';
+      position++;
+    }
+    if (position == length) {
+      throw illegalValue("时长", chars);
+    }
+    if (chars.charAt(position) == 'P' || chars.charAt(position) == 'p') {
+      return Duration.parse(chars.toString());
+    }
+    if (position == length - 1 && chars.charAt(position) == '0') {
+      return Duration.ZERO;
+    }
+
+    long seconds = 0L;
+    long nanos = 0L;
+    try {
+      while (position < length) {
+        final var start = position;
+        while (position < length && isDigit(chars.charAt(position))) {
+          position++;
+        }
+        final var unitStart = position;
+        while (position < length && !isDigit(chars.charAt(position))) {
+          position++;
+        }
+        if (unitStart == start || unitStart == position) {
+          throw illegalValue("时长", chars);
+        }
+
+        final var amount = NumberParsers.parseLong(chars, start, unitStart);
+        if (matches(chars, unitStart, position, "s")) {
+          seconds = Math.addExact(seconds, amount);
+        } else if (matches(chars, unitStart, position, "m")) {
+          seconds = Math.addExact(seconds, Math.multiplyExact(amount, SECONDS_PER_MINUTE));
+        } else if (matches(chars, unitStart, position, "h")) {
+          seconds = Math.addExact(seconds, Math.multiplyExact(amount, SECONDS_PER_HOUR));
+        } else if (matches(chars, unitStart, position, "d")) {
+          seconds = Math.addExact(seconds, Math.multiplyExact(amount, SECONDS_PER_DAY));
+        } else if (matches(chars, unitStart, position, "ms")) {
+          nanos = Math.addExact(nanos, Math.multiplyExact(amount, 1_000_000L));
+        } else if (matches(chars, unitStart, position, "us")) {
+          nanos = Math.addExact(nanos, Math.multiplyExact(amount, 1_000L));
+        } else if (matches(chars, unitStart, position, "ns")) {
+          nanos = Math.addExact(nanos, amount);
+        } else {
+          throw illegalValue("时长", chars);
+        }
+      }
+      final var duration = Duration.ofSeconds(seconds, nanos);
+      return negative ? duration.negated() : duration;
+    } catch (ArithmeticException e) {
+      throw illegalValue("时长", chars);
+    }
+  }
+
+  /**
+   * 解释套接字地址，如 <code>localhost:8080</code>、<code>[::1]:8080</code>、<code>:8080</code>
+   * <p>
+   * IP地址（<code>127.0.0.1</code>、<code>[::1]</code>）直接转换为已解析的地址；
+   * 主机名不做域名解析，返回未解析的地址；省略主机名时为通配地址。
+   *
+   * @param chars 地址文本
+   * @return 套接字地址
+   * @throws IllegalArgumentException 格式不对或端口超出范围
+   */
+  @NotNull
+  static InetSocketAddress parseSocketAddress(@NotNull CharSequence chars) {
+    final var length = chars.length();
+    int colon = length - 1;
+    while (colon >= 0 && chars.charAt(colon) != ':') {
+      colon--;
+    }
+    if (colon < 0) {
+      throw illegalValue("地址", chars);
+    }
+
+    final var port = NumberParsers.parseInt(chars, colon + 1, length);
+    if (port < 0 || port > MAX_PORT) {
+      throw illegalValue("地址", chars);
+    }
+    if (colon == 0) {
+      return new InetSocketAddress(port);
+    }
+
+    int hostFrom = 0;
+    int hostTo = colon;
+    if (chars.charAt(0) == '[' && chars.charAt(colon - 1) == ']') {
+      hostFrom = 1;
+      hostTo = colon - 1;
+    }
+    for (int i = hostFrom; i < hostTo; i++) {
+      if (hostFrom == 0 && chars.charAt(i) == ':') {
+        // IPv6地址需要用方括号括起来
+        throw illegalValue("地址", chars);
+      }
+    }
+    if (hostFrom == hostTo) {
+      throw illegalValue("地址", chars);
+    }
+    try {
+      if (hostFrom == 0) {
+        final var octets = ipv4(chars, hostFrom, hostTo);
+        if (octets == null) {
+          final var host = chars.subSequence(hostFrom, hostTo).toString();
+          return InetSocketAddress.createUnresolved(host, port);
+        }
+        return new InetSocketAddress(InetAddress.getByAddress(octets), port);
+      }
+      if (!contains(chars, hostFrom, hostTo, ':')) {
+        // 方括号中只能是IPv6地址
+        throw illegalValue("地址", chars);
+      }
+      // 含冒号的按IPv6地址转换，不会查询域名
+      return new InetSocketAddress(
+          InetAddress.getByName(chars.subSequence(hostFrom, hostTo).toString()), port);
+    } catch (UnknownHostException e) {
+      throw illegalValue("地址", chars);
+    }
+  }
+
+  /**
+   * 按字符扫描点分十进制的IPv4地址，不截取子串
+   *
+   * @return 4个字节的地址；含数字和点以外的字符时为null，按主机名处理
+   * @throws IllegalArgumentException 只由数字和点组成但格式不对，避免被当作主机名解析
+   */
+  private static byte[] ipv4(CharSequence chars, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (!isDigit(chars.charAt(i)) && chars.charAt(i) != '.') {
+        return null;
+      }
+    }
+    final var octets = new byte[4];
+    int count = 0;
+    int octetFrom = from;
+    for (int i = from; i <= to; i++) {
+      if (i < to && chars.charAt(i) != '.') {
+        continue;
+      }
+      if (count == octets.length || i == octetFrom || i - octetFrom > 3) {
+        throw illegalValue("地址", chars);
+      }
+      final var octet = NumberParsers.parseInt(chars, octetFrom, i);
+      if (octet > 255) {
+        throw illegalValue("地址", chars);
+      }
+      octets[count++] = (byte) octet;
+      octetFrom = i + 1;
+    }
+    if (count != octets.length) {
+      throw illegalValue("地址", chars);
+    }
+    return octets;
+  }
+
+  private static boolean contains(CharSequence chars, int from, int to, char c) {
+    for (int i = from; i < to; i++) {
+      if (chars.charAt(i) == c) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean matches(CharSequence chars, int from, int to, String expected) {
+    if (to - from != expected.length()) {
+      return false;
+    }
+    for (int i = from; i < to; i++) {
+      if (chars.charAt(i) != expected.charAt(i - from)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static IllegalArgumentException illegalValue(String kind, CharSequence chars) {
+    return new IllegalArgumentException(kind + "格式不对：" + chars);
+  }
+}
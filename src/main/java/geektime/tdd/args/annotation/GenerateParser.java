@@ -0,0 +1,18 @@
+package geektime.tdd.args.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 要求注解处理器为目标对象类 <code>Xxx</code> 生成命令行参数解释器 <code>XxxArgsParser</code>，
+ * 目标对象类的构造器参数都须标注 {@link Option}；无法生成时编译报错
+ *
+ * @author 李小平
+ */
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateParser {
+}
@@ -10,7 +10,7 @@ import java.lang.annotation.Target;
  * @author 李小平
  */
 
-@Target(value = {ElementType.PARAMETER})
+@Target(value = {ElementType.PARAMETER, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Option {
    String value() default "";
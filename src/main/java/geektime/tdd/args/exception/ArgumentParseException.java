@@ -10,4 +10,8 @@ public class ArgumentParseException extends RuntimeException {
   public ArgumentParseException(String message, Throwable cause) {
     super(message, cause);
   }
+
+  protected ArgumentParseException(String message, Throwable cause, boolean writableStackTrace) {
+    super(message, cause, false, writableStackTrace);
+  }
 }
@@ -0,0 +1,21 @@
+package geektime.tdd.args.exception;
+
+
+/**
+ * 同时解释的多个目标对象类定义了相同的选项标识
+ *
+ * @author 李小平
+ */
+public class ConflictingOptionException extends RuntimeException {
+
+   private final String option;
+
+   public ConflictingOptionException(String option, String message) {
+      super(message);
+      this.option = option;
+   }
+
+   public String getOption() {
+      return option;
+   }
+}
@@ -0,0 +1,59 @@
+package geektime.tdd.args.exception;
+
+import java.util.List;
+
+/**
+ * 选项参数值格式不对，异常信息在读取时才拼接
+ *
+ * @author 李小平
+ */
+public class IllegalOptionValueException extends IllegalArgumentException {
+
+   private final String option;
+   private final List<String> values;
+   private final int tokenIndex;
+   private final boolean writableStackTrace;
+
+   public IllegalOptionValueException(String option, List<String> values, int tokenIndex,
+         Throwable cause) {
+      this(option, values, tokenIndex, cause, true);
+   }
+
+   public IllegalOptionValueException(String option, List<String> values, int tokenIndex,
+         Throwable cause, boolean writableStackTrace) {
+      super(null, cause);
+      this.option = option;
+      this.values = values;
+      this.tokenIndex = tokenIndex;
+      this.writableStackTrace = writableStackTrace;
+      if (writableStackTrace) {
+         fillInStackTrace();
+      }
+   }
+
+   @Override
+   public String getMessage() {
+      return option + "对应的参数值:" + values + "格式不对";
+   }
+
+   @Override
+   public synchronized Throwable fillInStackTrace() {
+      // 父类构造器调用时字段尚未赋值，不采集调用栈
+      return writableStackTrace ? super.fillInStackTrace() : this;
+   }
+
+   public String getOption() {
+      return option;
+   }
+
+   public List<String> getValues() {
+      return values;
+   }
+
+   /**
+    * @return 格式不对的参数值在命令行参数中的位置
+    */
+   public int getTokenIndex() {
+      return tokenIndex;
+   }
+}
@@ -0,0 +1,34 @@
+package geektime.tdd.args.exception;
+
+
+/**
+ * 命令行参数文件（<code>@path</code>）读取或切分失败
+ *
+ * @author 李小平
+ */
+public class ResponseFileException extends ArgumentParseException {
+
+   private final String path;
+   private final int tokenIndex;
+
+   public ResponseFileException(String path, int tokenIndex, Throwable cause,
+         boolean writableStackTrace) {
+      super("读取命令行参数文件失败:" + path, cause, writableStackTrace);
+      this.path = path;
+      this.tokenIndex = tokenIndex;
+   }
+
+   /**
+    * @return 参数文件路径
+    */
+   public String getPath() {
+      return path;
+   }
+
+   /**
+    * @return <code>@path</code> 在命令行参数中的位置
+    */
+   public int getTokenIndex() {
+      return tokenIndex;
+   }
+}
@@ -8,15 +8,31 @@ package geektime.tdd.args.exception;
  */
 public class TooManyArgumentsException extends RuntimeException {
 
+   private final int tokenIndex;
+
    public TooManyArgumentsException(String option) {
       super(option);
+      this.tokenIndex = -1;
+   }
+
+   public TooManyArgumentsException(String option, int tokenIndex, boolean writableStackTrace) {
+      super(option, null, false, writableStackTrace);
+      this.tokenIndex = tokenIndex;
    }
 
    public TooManyArgumentsException(String option, Throwable cause) {
       super(option, cause);
+      this.tokenIndex = -1;
    }
 
    public String getOption() {
       return super.getMessage();
    }
+
+   /**
+    * @return 选项标识在命令行参数中的位置，未知时为-1
+    */
+   public int getTokenIndex() {
+      return tokenIndex;
+   }
 }
@@ -0,0 +1,38 @@
+package geektime.tdd.args.exception;
+
+
+/**
+ * 命令行中存在目标对象没有定义的选项标识
+ *
+ * @author 李小平
+ */
+public class UnknownOptionException extends RuntimeException {
+
+   private final int tokenIndex;
+
+   public UnknownOptionException(String option) {
+      super(option);
+      this.tokenIndex = -1;
+   }
+
+   public UnknownOptionException(String option, int tokenIndex, boolean writableStackTrace) {
+      super(option, null, false, writableStackTrace);
+      this.tokenIndex = tokenIndex;
+   }
+
+   public UnknownOptionException(String option, Throwable cause) {
+      super(option, cause);
+      this.tokenIndex = -1;
+   }
+
+   public String getOption() {
+      return super.getMessage();
+   }
+
+   /**
+    * @return 选项标识在命令行参数中的位置，未知时为-1
+    */
+   public int getTokenIndex() {
+      return tokenIndex;
+   }
+}
@@ -0,0 +1,21 @@
+package geektime.tdd.args.exception;
+
+
+/**
+ * 命令行第一个参数不是已注册的子命令
+ *
+ * @author 李小平
+ */
+public class UnknownSubcommandException extends RuntimeException {
+
+   public UnknownSubcommandException(String subcommand) {
+      super(subcommand);
+   }
+
+   /**
+    * @return 命令行中的子命令名，命令行为空时为空字符串
+    */
+   public String getSubcommand() {
+      return super.getMessage();
+   }
+}
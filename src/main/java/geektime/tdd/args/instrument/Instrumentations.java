@@ -0,0 +1,39 @@
+package geektime.tdd.args.instrument;
+
+import java.util.Objects;
+import java.util.ServiceLoader;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 当前生效的 {@link ParseInstrumentation}
+ * <p>
+ * 初始时取类路径上第一个 {@link ParseInstrumentation} 服务，没有时为 {@link ParseInstrumentation#NOOP}。
+ *
+ * @author 李小平
+ */
+public final class Instrumentations {
+
+  private static volatile ParseInstrumentation current = ServiceLoader
+      .load(ParseInstrumentation.class, Instrumentations.class.getClassLoader())
+      .findFirst().orElse(ParseInstrumentation.NOOP);
+
+  private Instrumentations() {
+  }
+
+  /**
+   * @return 当前生效的埋点
+   */
+  @NotNull
+  public static ParseInstrumentation current() {
+    return current;
+  }
+
+  /**
+   * 安装埋点，替换当前生效的埋点
+   *
+   * @param instrumentation 埋点，传入 {@link ParseInstrumentation#NOOP} 即关闭
+   */
+  public static void install(@NotNull ParseInstrumentation instrumentation) {
+    current = Objects.requireNonNull(instrumentation);
+  }
+}
@@ -0,0 +1,119 @@
+package geektime.tdd.args.instrument;
+
+import geektime.tdd.args.ErrorKind;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 以JFR事件记录命令行参数解释，可在生产环境中随JFR录制开启或关闭
+ * <p>
+ * 事件：<code>geektime.tdd.args.Parse</code>（各阶段耗时）、<code>geektime.tdd.args.Option</code>
+ * （选项及参数值个数）、<code>geektime.tdd.args.ParseError</code>（错误类型）。
+ * 录制没有开启对应事件时不提交事件，事件对象通常被JIT经逃逸分析消除。
+ *
+ * @author 李小平
+ */
+public final class JfrParseInstrumentation implements ParseInstrumentation {
+
+  @Override
+  public void parsed(Class<?> optionsClass, long tokenizeNanos, long convertNanos,
+      long instantiateNanos) {
+    final var event = new ParseEvent();
+    if (event.shouldCommit()) {
+      event.optionsClass = optionsClass;
+      event.tokenize = tokenizeNanos;
+      event.convert = convertNanos;
+      event.instantiate = instantiateNanos;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void optionPresent(Class<?> optionsClass, String option, int valueCount) {
+    final var event = new OptionEvent();
+    if (event.shouldCommit()) {
+      event.optionsClass = optionsClass;
+      event.option = option;
+      event.valueCount = valueCount;
+      event.commit();
+    }
+  }
+
+  @Override
+  public void failed(Class<?> optionsClass, String option, ErrorKind kind,
+      Class<? extends Throwable> exception) {
+    final var event = new ParseErrorEvent();
+    if (event.shouldCommit()) {
+      event.optionsClass = optionsClass;
+      event.option = option;
+      event.kind = kind == null ? null : kind.name();
+      event.exception = exception;
+      event.commit();
+    }
+  }
+
+  @Name("geektime.tdd.args.Parse")
+  @Label("Args Parse")
+  @Category("Args")
+  @Description("目标对象解释成功")
+  @StackTrace(false)
+  static final class ParseEvent extends Event {
+
+    @Label("Options Class")
+    Class<?> optionsClass;
+
+    @Label("Tokenize")
+    @Timespan(Timespan.NANOSECONDS)
+    long tokenize;
+
+    @Label("Convert")
+    @Timespan(Timespan.NANOSECONDS)
+    long convert;
+
+    @Label("Instantiate")
+    @Timespan(Timespan.NANOSECONDS)
+    long instantiate;
+  }
+
+  @Name("geektime.tdd.args.Option")
+  @Label("Args Option")
+  @Category("Args")
+  @Description("命令行中出现的选项")
+  @StackTrace(false)
+  static final class OptionEvent extends Event {
+
+    @Label("Options Class")
+    Class<?> optionsClass;
+
+    @Label("Option")
+    String option;
+
+    @Label("Value Count")
+    int valueCount;
+  }
+
+  @Name("geektime.tdd.args.ParseError")
+  @Label("Args Parse Error")
+  @Category("Args")
+  @Description("目标对象解释失败")
+  @StackTrace(false)
+  static final class ParseErrorEvent extends Event {
+
+    @Label("Options Class")
+    Class<?> optionsClass;
+
+    @Label("Option")
+    String option;
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Exception")
+    Class<?> exception;
+  }
+}
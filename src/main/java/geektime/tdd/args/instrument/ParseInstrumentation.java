@@ -0,0 +1,55 @@
+package geektime.tdd.args.instrument;
+
+import geektime.tdd.args.ErrorKind;
+
+/**
+ * 命令行参数解释的埋点接口
+ * <p>
+ * 通过 {@link Instrumentations#install(ParseInstrumentation)} 安装，或以
+ * {@link java.util.ServiceLoader} 服务的形式放在类路径上（<code>META-INF/services</code>）。
+ * 没有安装时使用 {@link #NOOP}，解释过程不计时、不回调。实现需要线程安全，回调在解释线程中同步执行。
+ *
+ * @author 李小平
+ */
+public interface ParseInstrumentation {
+
+  /**
+   * 不做任何记录
+   */
+  ParseInstrumentation NOOP = new ParseInstrumentation() {
+  };
+
+  /**
+   * 目标对象解释成功
+   *
+   * @param optionsClass     目标对象类
+   * @param tokenizeNanos    遍历命令行参数并按选项标识分类的耗时
+   * @param convertNanos     各选项参数值解释的耗时
+   * @param instantiateNanos 创建目标对象的耗时
+   */
+  default void parsed(Class<?> optionsClass, long tokenizeNanos, long convertNanos,
+      long instantiateNanos) {
+  }
+
+  /**
+   * 命令行中出现了目标对象定义的选项，在该选项的参数值解释之前回调
+   *
+   * @param optionsClass 目标对象类
+   * @param option       选项标识
+   * @param valueCount   参数值个数
+   */
+  default void optionPresent(Class<?> optionsClass, String option, int valueCount) {
+  }
+
+  /**
+   * 目标对象解释失败
+   *
+   * @param optionsClass 目标对象类
+   * @param option       出错的选项标识，不是某个选项的错误时为null
+   * @param kind         错误类型，不是参数个数或格式错误时为null
+   * @param exception    解释失败的异常类型
+   */
+  default void failed(Class<?> optionsClass, String option, ErrorKind kind,
+      Class<? extends Throwable> exception) {
+  }
+}
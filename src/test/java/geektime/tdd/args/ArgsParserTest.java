@@ -0,0 +1,169 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 可复用的命令行参数解释器
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ArgsParserTest {
+
+  @Test
+  void should_reuse_parser_of_same_options_class() {
+    assertThat(ArgsParser.of(MultiOptions.class)).isSameAs(ArgsParser.of(MultiOptions.class));
+  }
+
+  @Test
+  void should_parse_many_times_with_one_parser() {
+    final var parser = ArgsParser.of(MultiOptions.class);
+
+    assertThat(parser.parse("-l", "-p", "8088")).isEqualTo(new MultiOptions(true, 8088, ""));
+    assertThat(parser.parse("-d", "/usr/logs")).isEqualTo(new MultiOptions(false, 0, "/usr/logs"));
+  }
+
+  @Test
+  void should_parse_concurrently() throws Exception {
+    final var parser = ArgsParser.of(MultiOptions.class);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        final var directory = "/usr/logs/" + thread;
+        futures.add(executor.submit(() -> {
+          for (int port = 0; port < 1000; port++) {
+            final var options = parser.parse("-p", String.valueOf(port), "-d", directory);
+            if (!options.equals(new MultiOptions(false, port, directory))) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (var future : futures) {
+        assertThat(future.get()).isTrue();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  // 嵌套解释：选项解释器内部再次使用同一线程解释命令行参数
+  @Test
+  void should_parse_nested_on_same_thread() {
+    final var parser = ArgsParser.of(NestedOptions.class, Map.<Class<?>, OptionParser<?>>of(
+        MultiOptions.class, (index, option) -> ArgsParser.of(MultiOptions.class)
+            .parse("-p", "8088", "-d", "/usr/logs", "-l"),
+        int.class, OptionParsers.intUnary(0)));
+
+    assertThat(parser.parse("-m", "-c", "1"))
+        .isEqualTo(new NestedOptions(new MultiOptions(true, 8088, "/usr/logs"), 1));
+  }
+
+  @Test
+  void should_throw_unknown_option_exception_in_strict_mode() {
+    final var parser = ArgsParser.of(MultiOptions.class).strict();
+    assertThrows(UnknownOptionException.class, () -> parser.parse("-l", "-x"));
+  }
+
+  @Test
+  void should_return_parse_error_when_try_parse() {
+    final var result = ArgsParser.of(MultiOptions.class).tryParse("-p", "8088", "8089");
+    assertThat(result.error().kind()).isEqualTo(ErrorKind.TOO_MANY_ARGUMENTS);
+  }
+
+  @Test
+  void should_parse_batch_in_input_order() {
+    final List<String[]> batch = new ArrayList<>();
+    for (int port = 0; port < 1000; port++) {
+      batch.add(port % 100 == 7
+          ? new String[]{"-p", "80c"} : new String[]{"-p", String.valueOf(port)});
+    }
+
+    final var results = Args.parseAll(MultiOptions.class, batch);
+
+    assertThat(results).hasSize(1000);
+    for (int port = 0; port < 1000; port++) {
+      final var result = results.get(port);
+      if (port % 100 == 7) {
+        assertThat(result.error().kind()).isEqualTo(ErrorKind.ILLEGAL_VALUE);
+      } else {
+        assertThat(result.value()).isEqualTo(new MultiOptions(false, port, ""));
+      }
+    }
+  }
+
+  @Test
+  void should_parse_batch_on_given_pool() {
+    final var pool = new ForkJoinPool(2);
+    try {
+      final var results = ArgsParser.of(MultiOptions.class).parseAll(
+          Stream.of(new String[]{"-l"}, new String[]{"-d", "/usr/logs"}).toList(), pool);
+
+      assertThat(results.get(0).value()).isEqualTo(new MultiOptions(true, 0, ""));
+      assertThat(results.get(1).value()).isEqualTo(new MultiOptions(false, 0, "/usr/logs"));
+      assertThat(ArgsParser.of(MultiOptions.class).parseAll(Stream.empty())).isEmpty();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void should_record_constructor_exception_as_failed_result_of_that_item() {
+    final var results = Args.parseAll(CheckedOptions.class,
+        List.of(new String[]{"-p", "80"}, new String[]{"-p", "-1"}, new String[]{"-p", "90"}));
+
+    assertThat(results.get(0).value()).isEqualTo(new CheckedOptions(80));
+    assertThat(results.get(1).isSuccess()).isFalse();
+    assertThat(results.get(1).error()).isNull();
+    assertThat(results.get(1).exception().getCause())
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThrows(ArgumentParseException.class, () -> results.get(1).value());
+    assertThat(results.get(2).value()).isEqualTo(new CheckedOptions(90));
+  }
+
+  @Test
+  void should_reject_null_item_of_batch() {
+    final List<String[]> batch = new ArrayList<>();
+    batch.add(new String[]{"-l"});
+    batch.add(null);
+
+    assertThrows(NullPointerException.class,
+        () -> ArgsParser.of(MultiOptions.class).parseAll(batch));
+  }
+
+  public record MultiOptions(
+      @Option("l") boolean logging,
+      @Option("p") int port,
+      @Option("d") String directory) {}
+
+  public record NestedOptions(
+      @Option("m") MultiOptions multi,
+      @Option("c") int count) {}
+
+  public record CheckedOptions(@Option("p") int port) {
+
+    public CheckedOptions {
+      if (port < 0) {
+        throw new IllegalArgumentException("端口不能为负数：" + port);
+      }
+    }
+  }
+}
@@ -8,13 +8,22 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
 import geektime.tdd.args.exception.LackOptionException;
 import geektime.tdd.args.exception.LackParserException;
+import geektime.tdd.args.exception.ResponseFileException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * 命令行参数解析
@@ -101,4 +110,164 @@ class ArgsTest {
       @Option("d") Integer[] decimals
   ) {}
 
+  // tryParse: 解释失败时返回错误，不抛出异常
+  @Test
+  void should_return_parse_result_when_try_parse_succeeded() {
+    ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class,
+        "-l", "-p", "8088", "-d", "/usr/logs");
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(result.value()).isEqualTo(new MultiOptions(true, 8088, "/usr/logs"));
+  }
+
+  @Test
+  void should_return_too_many_arguments_error_when_try_parse() {
+    ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class,
+        "-l", "-p", "8088", "8089");
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(result.error().option()).isEqualTo("p");
+    assertThat(result.error().kind()).isEqualTo(ErrorKind.TOO_MANY_ARGUMENTS);
+    assertThat(result.error().tokenIndex()).isEqualTo(1);
+  }
+
+  @Test
+  void should_return_illegal_value_error_with_token_index_when_try_parse() {
+    ParseResult<ArrayOptions> result = Args.tryParse(ArrayOptions.class,
+        "-g", "this", "-d", "1", "2c");
+    assertThat(result.error().kind()).isEqualTo(ErrorKind.ILLEGAL_VALUE);
+    assertThat(result.error().tokenIndex()).isEqualTo(4);
+    assertThat(result.error().message()).isEqualTo("d对应的参数值:[1, 2c]格式不对");
+    assertThrows(IllegalArgumentException.class, result::value);
+  }
+
+  @Test
+  void should_create_stackless_exception_from_parse_error() {
+    ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class, "-p");
+    RuntimeException exception = result.error().toException(false);
+    assertThat(exception).isInstanceOf(InsufficientArgumentsException.class);
+    assertThat(exception.getStackTrace()).isEmpty();
+  }
+
+  @Test
+  void should_keep_error_values_after_next_parse_on_same_thread() {
+    ParseResult<MultiOptions> result = Args.tryParse(MultiOptions.class, "--p=8c");
+
+    Args.tryParse(MultiOptions.class, "x", "--p=1");
+
+    assertThat(result.error().values()).containsExactly("8c");
+    assertThat(result.error().message()).isEqualTo("p对应的参数值:[8c]格式不对");
+  }
+
+  // 从字符流、文件中边读取边解释
+  @Test
+  void should_parse_options_from_reader() {
+    MultiOptions options = Args.parse(MultiOptions.class,
+        new StringReader("-l -p 8088\n-d /usr/logs\n"));
+    assertThat(options).isEqualTo(new MultiOptions(true, 8088, "/usr/logs"));
+  }
+
+  @Test
+  void should_parse_options_from_iterator() {
+    List<CharSequence> cmdLines = List.of("-g", new StringBuilder("this"), "is", "-d", "1");
+    ArrayOptions options = Args.parse(ArrayOptions.class, cmdLines.iterator());
+    assertThat(options.group).isEqualTo(new String[]{"this", "is"});
+    assertThat(options.decimals).isEqualTo(new Integer[]{1});
+  }
+
+  @Test
+  void should_parse_options_from_file(@TempDir Path directory) throws IOException {
+    Path file = Files.writeString(directory.resolve("options.args"), "-p 8088 -d /usr/logs");
+    assertThat(Args.parse(MultiOptions.class, file))
+        .isEqualTo(new MultiOptions(false, 8088, "/usr/logs"));
+  }
+
+  // -l @options.args
+  @Test
+  void should_expand_response_file_argument(@TempDir Path directory) throws IOException {
+    Path file = Files.writeString(directory.resolve("options.args"), "-p 8088\n-d /usr/logs\n");
+    assertThat(ArgsParser.of(MultiOptions.class).withResponseFiles().parse("-l", "@" + file))
+        .isEqualTo(new MultiOptions(true, 8088, "/usr/logs"));
+  }
+
+  // 默认不展开参数文件，@path 按原样作为参数值
+  @Test
+  void should_take_response_file_reference_as_literal_by_default() {
+    assertThat(Args.parse(MultiOptions.class, "-d", "@alice"))
+        .isEqualTo(new MultiOptions(false, 0, "@alice"));
+  }
+
+  @Test
+  void should_unescape_double_at_sign_when_expand_response_files() {
+    assertThat(ArgsParser.of(MultiOptions.class).withResponseFiles().parse("-d", "@@alice"))
+        .isEqualTo(new MultiOptions(false, 0, "@alice"));
+  }
+
+  @Test
+  void should_return_parse_error_if_response_file_missing(@TempDir Path directory) {
+    final var missing = directory.resolve("missing").toString();
+    final var parser = ArgsParser.of(MultiOptions.class).withResponseFiles();
+
+    final var result = parser.tryParse("-d", "@" + missing);
+
+    assertThat(result.error().kind()).isEqualTo(ErrorKind.RESPONSE_FILE);
+    assertThat(result.error().tokenIndex()).isEqualTo(1);
+    assertThat(result.error().values()).containsExactly(missing);
+    ResponseFileException exception = assertThrows(ResponseFileException.class,
+        () -> parser.parse("-d", "@" + missing));
+    assertThat(exception.getPath()).isEqualTo(missing);
+  }
+
+  // 未定义的选项标识：默认忽略，严格模式下报错
+  @Test
+  void should_ignore_unknown_option_by_default() {
+    MultiOptions options = Args.parse(MultiOptions.class, "-l", "-x", "1", "-p", "8088");
+    assertThat(options).isEqualTo(new MultiOptions(true, 8088, ""));
+  }
+
+  @Test
+  void should_throw_unknown_option_exception_in_strict_mode() {
+    UnknownOptionException exception = assertThrows(UnknownOptionException.class,
+        () -> Args.parseStrict(MultiOptions.class, "-l", "-x", "1", "-p", "8088"));
+    assertThat(exception.getOption()).isEqualTo("x");
+    assertThat(exception.getTokenIndex()).isEqualTo(1);
+  }
+
+  // GNU风格：--port=8088 --log-dir /usr/logs -lv -- -x
+  @Test
+  void should_parse_gnu_style_options() {
+    GnuOptions options = Args.parseStrict(GnuOptions.class,
+        "--port=8088", "--log-dir", "/usr/logs", "-lv", "--", "-x");
+    assertThat(options).isEqualTo(new GnuOptions(true, true, 8088, "/usr/logs"));
+  }
+
+  @Test
+  void should_report_long_unknown_option_name_in_strict_mode() {
+    UnknownOptionException exception = assertThrows(UnknownOptionException.class,
+        () -> Args.parseStrict(GnuOptions.class, "--port=8088", "--colour=always"));
+    assertThat(exception.getOption()).isEqualTo("colour");
+    assertThat(exception.getTokenIndex()).isEqualTo(1);
+  }
+
+  // --port=80 90：参数值个数错误的位置为选项标识本身
+  @Test
+  void should_report_inline_flag_position_for_wrong_number_of_values() {
+    final var result = Args.tryParse(GnuOptions.class, "-l", "--port=80", "90");
+    assertThat(result.error().kind()).isEqualTo(ErrorKind.TOO_MANY_ARGUMENTS);
+    assertThat(result.error().tokenIndex()).isEqualTo(1);
+
+    final var separated = Args.tryParse(GnuOptions.class, "-l", "--port", "80", "90");
+    assertThat(separated.error().tokenIndex()).isEqualTo(1);
+  }
+
+  // 只有 --name=value 形式的选项标识才截取等号之后的值，形如 --1=2 的参数值保持原样
+  @Test
+  void should_not_strip_value_that_looks_like_inline_flag() {
+    assertThat(Args.parse(MultiOptions.class, "-d", "--1=2"))
+        .isEqualTo(new MultiOptions(false, 0, "--1=2"));
+  }
+
+  public record GnuOptions(
+      @Option("l") boolean logging,
+      @Option("v") boolean verbose,
+      @Option("port") int port,
+      @Option("log-dir") String directory) {}
 }
@@ -0,0 +1,145 @@
+package geektime.tdd.args;
+
+import static geektime.tdd.args.Options.option;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 命令行参数索引
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ArgumentIndexTest {
+
+  // -l -p 8080 -g a b
+  // {l:[]}, {p:[8080]}, {g:[a, b]}
+  @Test
+  void should_index_values_of_every_flag_in_one_pass() {
+    final var index = ArgumentIndex.of(List.of("-l", "-p", "8080", "-g", "a", "b"));
+
+    assertThat(index.values(option("l"))).contains(List.of());
+    assertThat(index.values(option("p"))).contains(List.of("8080"));
+    assertThat(index.values(option("g"))).contains(List.of("a", "b"));
+  }
+
+  @Test
+  void should_return_empty_if_flag_not_present() {
+    final var index = ArgumentIndex.of(List.of("-p", "8080"));
+    assertThat(index.values(option("d"))).isEmpty();
+  }
+
+  // 负数不是选项标识: -d 1 -3
+  @Test
+  void should_not_treat_negative_number_as_flag() {
+    final var index = ArgumentIndex.of(List.of("-d", "1", "-3"));
+    assertThat(index.values(option("d"))).contains(List.of("1", "-3"));
+  }
+
+  // 重复选项以第一次出现为准: -p 8080 -p 8081
+  @Test
+  void should_use_first_occurrence_of_repeated_flag() {
+    final var index = ArgumentIndex.of(List.of("-p", "8080", "-p", "8081"));
+    assertThat(index.values(option("p"))).contains(List.of("8080"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"-l", "-port", "-log_dir", "-L", "--port", "--log-dir", "--ipv6",
+      "--port=8080", "--dirs=a=b", "--name="})
+  void should_recognize_flag(String token) {
+    assertThat(ArgumentIndex.isFlag(token)).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "-", "l", "-3", "-p1", "/usr/logs", "--", "---p", "--1",
+      "--p.q", "--=8080"})
+  void should_not_recognize_flag(String token) {
+    assertThat(ArgumentIndex.isFlag(token)).isFalse();
+  }
+
+  // --port 8080 --log-dir /usr/logs
+  @Test
+  void should_index_long_flags() {
+    final var index = ArgumentIndex.of(List.of("--port", "8080", "--log-dir", "/usr/logs"));
+
+    assertThat(index.values(option("port"))).contains(List.of("8080"));
+    assertThat(index.values(option("log-dir"))).contains(List.of("/usr/logs"));
+  }
+
+  // --port=8080 --group=a b
+  @Test
+  void should_split_inline_value_by_offset() {
+    final var index = ArgumentIndex.of(List.of("--port=8080", "--group=a", "b", "--dir="))
+        .bind(FlagTable.of(List.of("port", "group", "dir")));
+
+    assertThat(index.values(option("port"))).contains(List.of("8080"));
+    assertThat(index.values(option("group"))).contains(List.of("a", "b"));
+    assertThat(index.values(option("dir"))).contains(List.of(""));
+    assertThat(index.token(0)).isNotInstanceOf(String.class);
+  }
+
+  // -lvp 8080 等同于 -l -v -p 8080
+  @Test
+  void should_expand_clustered_short_flags() {
+    final var index = ArgumentIndex.of(List.of("-lvp", "8080"))
+        .bind(FlagTable.of(List.of("l", "v", "p")));
+
+    assertThat(index.values(option("l"))).contains(List.of());
+    assertThat(index.values(option("v"))).contains(List.of());
+    assertThat(index.values(option("p"))).contains(List.of("8080"));
+    assertThat(index.unknownFlag()).isEqualTo(-1);
+  }
+
+  // lv 本身是选项标识时不展开
+  @Test
+  void should_prefer_whole_flag_to_cluster() {
+    final var index = ArgumentIndex.of(List.of("-lv", "1"))
+        .bind(FlagTable.of(List.of("l", "v", "lv")));
+
+    assertThat(index.values(option("lv"))).contains(List.of("1"));
+    assertThat(index.values(option("l"))).isEmpty();
+  }
+
+  @Test
+  void should_treat_cluster_with_unknown_flag_as_unknown() {
+    final var index = ArgumentIndex.of(List.of("-lx"))
+        .bind(FlagTable.of(List.of("l", "v")));
+
+    assertThat(index.unknownFlag()).isEqualTo(0);
+    assertThat(index.values(option("l"))).isEmpty();
+  }
+
+  // -g a -- -l b：-- 之后的参数不是选项标识
+  @Test
+  void should_stop_indexing_flags_after_terminator() {
+    final var index = ArgumentIndex.of(new String[]{"-g", "a", "--", "-l", "b"}, null)
+        .bind(FlagTable.of(List.of("g", "l")));
+
+    assertThat(index.values(option("g"))).contains(List.of("a"));
+    assertThat(index.values(option("l"))).isEmpty();
+    assertThat(index.unknownFlag()).isEqualTo(-1);
+  }
+
+  @Test
+  void should_bind_scratch_backed_index_in_place() {
+    final var scratch = ParseScratch.acquire();
+    try {
+      final var index = ArgumentIndex.of(new String[]{"-p", "8080", "-x"}, scratch);
+
+      final var bound = index.bind(FlagTable.of(List.of("p")));
+
+      assertThat(bound).isSameAs(index);
+      assertThat(bound.withStacklessFailures()).isSameAs(index);
+      assertThat(bound.values(option("p"))).contains(List.of("8080"));
+      assertThat(bound.unknownFlag()).isEqualTo(2);
+    } finally {
+      scratch.release();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.exception.ArgumentParseException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 从字符流中读取命令行参数
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ArgumentTokenizerTest {
+
+  @Test
+  void should_split_arguments_by_whitespace() {
+    assertThat(tokens(" -l -p\t8080\n-d  /usr/logs \n"))
+        .containsExactly("-l", "-p", "8080", "-d", "/usr/logs");
+  }
+
+  // -d "/usr/my logs" 'a b'c
+  @Test
+  void should_keep_whitespace_inside_quotes() {
+    assertThat(tokens("-d \"/usr/my logs\" 'a b'c"))
+        .containsExactly("-d", "/usr/my logs", "a bc");
+  }
+
+  @Test
+  void should_unescape_inside_double_quotes() {
+    assertThat(tokens("\"say \\\"hi\\\"\"")).containsExactly("say \"hi\"");
+  }
+
+  @Test
+  void should_return_nothing_for_blank_input() {
+    assertThat(tokens(" \n\t ")).isEmpty();
+  }
+
+  @Test
+  void should_throw_argument_parse_exception_if_quote_not_closed() {
+    final var tokenizer = new ArgumentTokenizer(new StringReader("-d \"/usr/logs"));
+    tokenizer.next();
+    assertThrows(ArgumentParseException.class, tokenizer::next);
+  }
+
+  private static List<String> tokens(String cmdLine) {
+    final List<String> tokens = new ArrayList<>();
+    new ArgumentTokenizer(new StringReader(cmdLine)).forEachRemaining(tokens::add);
+    return tokens;
+  }
+}
@@ -0,0 +1,46 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 字节数选项值
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ByteSizeTest {
+
+  @Test
+  void should_parse_bytes_without_unit() {
+    assertThat(ByteSize.parse("0")).isEqualTo(ByteSize.ZERO);
+    assertThat(ByteSize.parse("100")).isEqualTo(new ByteSize(100));
+    assertThat(ByteSize.parse("100B")).isEqualTo(new ByteSize(100));
+  }
+
+  @Test
+  void should_parse_binary_units() {
+    assertThat(ByteSize.parse("512MiB")).isEqualTo(new ByteSize(512L * 1024 * 1024));
+    assertThat(ByteSize.parse("64k")).isEqualTo(new ByteSize(64L * 1024));
+    assertThat(ByteSize.parse("2G")).isEqualTo(new ByteSize(2L << 30));
+    assertThat(ByteSize.parse("1tib")).isEqualTo(new ByteSize(1L << 40));
+  }
+
+  @Test
+  void should_parse_decimal_units() {
+    assertThat(ByteSize.parse("10KB")).isEqualTo(new ByteSize(10_000));
+    assertThat(ByteSize.parse("3gb")).isEqualTo(new ByteSize(3_000_000_000L));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "MiB", "-1", "1.5G", "10X", "10KiBB", "10 MB", "8192PiB"})
+  void should_throw_illegal_argument_exception_for_invalid_byte_size(String chars) {
+    assertThrows(IllegalArgumentException.class, () -> ByteSize.parse(chars));
+  }
+}
@@ -0,0 +1,51 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 选项标识分派表
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class FlagTableTest {
+
+  private final FlagTable table = FlagTable.of(List.of("l", "log", "logging", "p", "d"));
+
+  @Test
+  void should_find_slot_of_every_flag() {
+    assertThat(table.size()).isEqualTo(5);
+    assertThat(table.find("l")).isZero();
+    assertThat(table.find("log")).isEqualTo(1);
+    assertThat(table.find("logging")).isEqualTo(2);
+    assertThat(table.find("p")).isEqualTo(3);
+    assertThat(table.find("d")).isEqualTo(4);
+    assertThat(table.name(2)).isEqualTo("logging");
+  }
+
+  // 前缀、未定义的标识
+  @Test
+  void should_return_unknown_for_undefined_flag() {
+    assertThat(table.find("lo")).isEqualTo(FlagTable.UNKNOWN);
+    assertThat(table.find("loggings")).isEqualTo(FlagTable.UNKNOWN);
+    assertThat(table.find("x")).isEqualTo(FlagTable.UNKNOWN);
+  }
+
+  // -log 直接在命令行参数上分类，不截取子串
+  @Test
+  void should_find_slot_of_char_range() {
+    assertThat(table.find("-log", 1, 4)).isEqualTo(1);
+  }
+
+  @Test
+  void should_keep_first_slot_of_repeated_flag() {
+    final var repeated = FlagTable.of(List.of("p", "d", "p"));
+    assertThat(repeated.size()).isEqualTo(2);
+    assertThat(repeated.find("p")).isZero();
+  }
+}
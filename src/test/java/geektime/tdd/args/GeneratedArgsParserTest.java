@@ -0,0 +1,123 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.GenerateParser;
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 注解处理器生成的命令行参数解释器，与 {@link Args#parse(Class, String...)} 结果一致
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class GeneratedArgsParserTest {
+
+  private static final String[] CMD_LINES = {
+      "-l", "-p", "8088", "-d", "/usr/logs", "-g", "this", "is", "-n", "1", "-3", "-s", "10"};
+
+  @Test
+  void should_parse_same_as_args() {
+    ServerOptions options = GeneratedArgsParserTest_ServerOptionsArgsParser.parse(CMD_LINES);
+    ServerOptions expected = Args.parse(ServerOptions.class, CMD_LINES);
+
+    assertThat(options.logging()).isEqualTo(expected.logging());
+    assertThat(options.port()).isEqualTo(expected.port());
+    assertThat(options.directory()).isEqualTo(expected.directory());
+    assertThat(options.group()).isEqualTo(expected.group());
+    assertThat(options.decimals()).isEqualTo(expected.decimals());
+    assertThat(options.sizes()).isEqualTo(new long[] {10});
+  }
+
+  @Test
+  void should_set_default_value_if_option_not_present() {
+    ServerOptions options = GeneratedArgsParserTest_ServerOptionsArgsParser.parse();
+
+    assertThat(options.logging()).isFalse();
+    assertThat(options.port()).isZero();
+    assertThat(options.directory()).isEmpty();
+    assertThat(options.group()).isEmpty();
+    assertThat(options.decimals()).isEmpty();
+  }
+
+  @Test
+  void should_throw_same_exceptions_as_args() {
+    assertThrows(TooManyArgumentsException.class,
+        () -> GeneratedArgsParserTest_ServerOptionsArgsParser.parse("-l", "t"));
+    assertThrows(InsufficientArgumentsException.class,
+        () -> GeneratedArgsParserTest_ServerOptionsArgsParser.parse("-p", "-l"));
+
+    IllegalOptionValueException exception = assertThrows(IllegalOptionValueException.class,
+        () -> GeneratedArgsParserTest_ServerOptionsArgsParser.parse("-n", "1", "2c"));
+    assertThat(exception.getMessage()).isEqualTo("n对应的参数值:[1, 2c]格式不对");
+    assertThat(exception.getTokenIndex()).isEqualTo(2);
+  }
+
+  // 生成的解释器与反射解释的结果、错误类型及出错位置都相同
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "--port=8088 --log-dir /usr/logs -lv -- -x",
+      "-lv --port 80 -g a b --log-dir=/tmp",
+      "-vl -port 80 --log-dir",
+      "--port=80 90",
+      "--port=80c",
+      "-p 1 --port=2 -port 3",
+      "-d --1=2",
+      "-lvx -g a -- b",
+      "-g --g=a b -l",
+      "--g=a b c",
+      "-l -- -v",
+      "-lvg",
+      "--log-dir -- x",
+      "-l t",
+      "--port=",
+  })
+  void should_parse_gnu_style_same_as_args(String cmdLine) {
+    final var args = cmdLine.split(" ");
+    assertThat(outcome(() -> GeneratedArgsParserTest_GnuOptionsArgsParser.parse(args)))
+        .isEqualTo(outcome(() -> Args.parse(GnuOptions.class, args)));
+  }
+
+  private static String outcome(Supplier<GnuOptions> parse) {
+    try {
+      final var options = parse.get();
+      return List.of(options.logging(), options.verbose(), options.port(), options.directory(),
+          Arrays.asList(options.group())).toString();
+    } catch (InsufficientArgumentsException e) {
+      return e.getClass().getSimpleName() + e.getTokenIndex();
+    } catch (TooManyArgumentsException e) {
+      return e.getClass().getSimpleName() + e.getTokenIndex();
+    } catch (IllegalOptionValueException e) {
+      return e.getClass().getSimpleName() + e.getTokenIndex() + e.getMessage();
+    }
+  }
+
+  @GenerateParser
+  public record ServerOptions(
+      @Option("l") boolean logging,
+      @Option("p") int port,
+      @Option("d") String directory,
+      @Option("g") String[] group,
+      @Option("n") Integer[] decimals,
+      @Option("s") long[] sizes) {}
+
+  @GenerateParser
+  public record GnuOptions(
+      @Option("l") boolean logging,
+      @Option("v") boolean verbose,
+      @Option("port") int port,
+      @Option("log-dir") String directory,
+      @Option("g") String[] group) {}
+}
@@ -0,0 +1,132 @@
+package geektime.tdd.args;
+
+import static geektime.tdd.args.Options.option;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 延迟解释的选项值
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LazyTest {
+
+  @Test
+  void should_parse_option_value_only_when_accessed() {
+    final var calls = new AtomicInteger();
+    final OptionParser<Lazy<Integer>> parser = OptionParsers.lazy((index, option) -> {
+      calls.incrementAndGet();
+      return OptionParsers.intUnary(0).parse(index, option);
+    });
+
+    final var value = parser.parse(List.of("-p", "8080"), option("p"));
+    assertThat(calls.get()).isEqualTo(0);
+    assertThat(value.isResolved()).isFalse();
+
+    assertThat(value.get()).isEqualTo(8080);
+    assertThat(value.get()).isEqualTo(8080);
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(value.isResolved()).isTrue();
+  }
+
+  @Test
+  void should_set_default_value_if_option_not_present() {
+    final var value = OptionParsers.lazy(OptionParsers.duration()).parse(List.of(), option("t"));
+    assertThat(value.get()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void should_throw_parse_exception_when_accessed() {
+    final var options = Args.parse(LazyOptions.class, "-p", "80c", "-l", "-d", "a", "b");
+
+    final var illegal = assertThrows(IllegalOptionValueException.class, options.port()::get);
+    assertThat(illegal.getTokenIndex()).isEqualTo(1);
+    assertThrows(TooManyArgumentsException.class, options.directory()::get);
+    assertThat(options.logging()).isTrue();
+  }
+
+  @Test
+  void should_parse_lazy_and_supplier_options() {
+    final var options = Args.parse(LazyOptions.class,
+        "-p", "8080", "-d", "/usr/logs", "-n", "1", "2");
+
+    assertThat(options.port().get()).isEqualTo(8080);
+    assertThat(options.directory().get()).isEqualTo("/usr/logs");
+    assertThat(options.numbers().get()).containsExactly(1, 2);
+  }
+
+  @Test
+  void should_take_value_of_inline_flag_when_resolved() {
+    final var options = Args.parse(LazyOptions.class, "--p=8080", "--d=/usr/logs");
+
+    assertThat(options.port().get()).isEqualTo(8080);
+    assertThat(options.directory().get()).isEqualTo("/usr/logs");
+  }
+
+  // 临时缓冲区被后续解释复用后，延迟选项值仍然对应原来的命令行参数
+  @Test
+  void should_keep_own_range_after_scratch_reused() {
+    final var parser = ArgsParser.of(LazyOptions.class);
+    final var first = parser.parse("-p", "1", "-d", "first");
+    final var second = parser.parse("-d", "second", "-l", "-p", "2");
+
+    assertThat(first.port().get()).isEqualTo(1);
+    assertThat(first.directory().get()).isEqualTo("first");
+    assertThat(second.port().get()).isEqualTo(2);
+    assertThat(second.directory().get()).isEqualTo("second");
+  }
+
+  @Test
+  void should_parse_once_when_accessed_concurrently() throws Exception {
+    final var calls = new AtomicInteger();
+    final var value = OptionParsers.<Integer>lazy((index, option) -> {
+      calls.incrementAndGet();
+      return OptionParsers.intUnary(0).parse(index, option);
+    }).parse(List.of("-p", "8080"), option("p"));
+
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        futures.add(executor.submit(value::get));
+      }
+      for (var future : futures) {
+        assertThat(future.get()).isEqualTo(8080);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  void should_create_resolved_value() {
+    final var value = Lazy.of("x");
+    assertThat(value.isResolved()).isTrue();
+    assertThat(value.get()).isEqualTo("x");
+  }
+
+  public record LazyOptions(
+      @Option("l") boolean logging,
+      @Option("p") Lazy<Integer> port,
+      @Option("d") Supplier<String> directory,
+      @Option("n") Lazy<List<Integer>> numbers) {
+
+  }
+}
@@ -0,0 +1,107 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ConflictingOptionException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 同时解释多个目标对象类
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class MultiArgsParserTest {
+
+  @Test
+  void should_parse_several_options_classes_from_one_command_line() {
+    final var parser = MultiArgsParser.of(ServerOptions.class, LoggingOptions.class,
+        StorageOptions.class);
+
+    final var options = parser.parse(
+        "-p", "8080", "-l", "-v", "3", "-d", "/data", "-g", "a", "b");
+
+    assertThat(options.get(ServerOptions.class).port()).isEqualTo(8080);
+    assertThat(options.get(ServerOptions.class).hosts()).isEmpty();
+    assertThat(options.get(LoggingOptions.class)).isEqualTo(new LoggingOptions(true, 3));
+    assertThat(options.get(StorageOptions.class).directory()).isEqualTo("/data");
+    assertThat(options.get(StorageOptions.class).groups()).isEqualTo(new String[] {"a", "b"});
+  }
+
+  @Test
+  void should_set_default_value_for_options_not_present() {
+    final var options = MultiArgsParser.of(ServerOptions.class, LoggingOptions.class).parse("-l");
+
+    assertThat(options.get(ServerOptions.class).port()).isEqualTo(0);
+    assertThat(options.get(LoggingOptions.class)).isEqualTo(new LoggingOptions(true, 0));
+  }
+
+  @Test
+  void should_throw_conflicting_option_exception_when_compile() {
+    final var e = assertThrows(ConflictingOptionException.class,
+        () -> MultiArgsParser.of(ServerOptions.class, ConflictingOptions.class));
+    assertThat(e.getOption()).isEqualTo("p");
+  }
+
+  @Test
+  void should_throw_illegal_argument_exception_for_class_not_parsed() {
+    final var options = MultiArgsParser.of(ServerOptions.class).parse();
+    assertThrows(IllegalArgumentException.class, () -> options.get(LoggingOptions.class));
+  }
+
+  @Test
+  void should_throw_unknown_option_exception_only_for_flag_unknown_to_all_classes() {
+    final var parser = MultiArgsParser.of(ServerOptions.class, LoggingOptions.class).strict();
+
+    assertThat(parser.parse("-p", "1", "-v", "2").get(LoggingOptions.class).verbosity())
+        .isEqualTo(2);
+    assertThrows(UnknownOptionException.class, () -> parser.parse("-p", "1", "-x"));
+  }
+
+  @Test
+  void should_report_error_of_any_class() {
+    final var parser = MultiArgsParser.of(ServerOptions.class, LoggingOptions.class);
+
+    assertThrows(TooManyArgumentsException.class, () -> parser.parse("-v", "1", "2"));
+    final var result = parser.tryParse("-p", "80c");
+    assertThat(result.isSuccess()).isFalse();
+    assertThat(result.error().kind()).isEqualTo(ErrorKind.ILLEGAL_VALUE);
+    assertThat(result.error().option()).isEqualTo("p");
+  }
+
+  @Test
+  void should_parse_option_view_interface() {
+    final var options = MultiArgsParser.of(ServerOptions.class, LoggingView.class)
+        .parse("-p", "8080", "-l");
+
+    assertThat(options.get(LoggingView.class).logging()).isTrue();
+  }
+
+  public record ServerOptions(@Option("p") int port, @Option("h") String[] hosts) {
+
+  }
+
+  public record LoggingOptions(@Option("l") boolean logging, @Option("v") int verbosity) {
+
+  }
+
+  public record StorageOptions(@Option("d") String directory, @Option("g") String[] groups) {
+
+  }
+
+  public record ConflictingOptions(@Option("p") String path) {
+
+  }
+
+  public interface LoggingView {
+
+    @Option("l")
+    boolean logging();
+  }
+}
@@ -0,0 +1,48 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 字符序列数值解释
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NumberParsersTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "8080", "-3", "+17", "2147483647", "-2147483648"})
+  void should_parse_int_same_as_integer_parse_int(String chars) {
+    assertThat(NumberParsers.parseInt(chars)).isEqualTo(Integer.parseInt(chars));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"9223372036854775807", "-9223372036854775808", "42"})
+  void should_parse_long_same_as_long_parse_long(String chars) {
+    assertThat(NumberParsers.parseLong(chars)).isEqualTo(Long.parseLong(chars));
+  }
+
+  @Test
+  void should_parse_int_from_char_sequence() {
+    assertThat(NumberParsers.parseInt(new StringBuilder("-8080"))).isEqualTo(-8080);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "-", "+", "8080L", "1 2", "2147483648", "-2147483649"})
+  void should_throw_number_format_exception_for_invalid_int(String chars) {
+    assertThrows(NumberFormatException.class, () -> NumberParsers.parseInt(chars));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"9223372036854775808", "-9223372036854775809", "0x10"})
+  void should_throw_number_format_exception_for_invalid_long(String chars) {
+    assertThrows(NumberFormatException.class, () -> NumberParsers.parseLong(chars));
+  }
+}
@@ -0,0 +1,229 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.LackParserException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 参数值解释器注册器
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class OptionParserRegistryTest {
+
+  @Test
+  void should_find_built_in_parser() {
+    final var registry = new OptionParserRegistry();
+
+    assertThat(registry.supports(int.class)).isTrue();
+    assertThat(registry.supports(String[].class)).isTrue();
+    assertThat(registry.supports(Point.class)).isFalse();
+  }
+
+  @Test
+  void should_parse_registered_type() {
+    final var registry = new OptionParserRegistry()
+        .register(Point.class, new Point(0, 0), Point::parse);
+
+    assertThat(ArgsParser.of(PointOptions.class, registry).parse("-o", "1,2"))
+        .isEqualTo(new PointOptions(new Point(1, 2)));
+    assertThat(ArgsParser.of(PointOptions.class, registry).parse())
+        .isEqualTo(new PointOptions(new Point(0, 0)));
+  }
+
+  @Test
+  void should_throw_illegal_option_value_exception_if_registered_converter_failed() {
+    final var registry = new OptionParserRegistry()
+        .register(Point.class, new Point(0, 0), Point::parse);
+
+    final var e = assertThrows(IllegalOptionValueException.class,
+        () -> ArgsParser.of(PointOptions.class, registry).parse("-o", "1"));
+    assertThat(e.getOption()).isEqualTo("o");
+  }
+
+  @Test
+  void should_replace_registered_parser() {
+    final var registry = new OptionParserRegistry()
+        .register(String.class, "none", String::toUpperCase);
+
+    assertThat(ArgsParser.of(DirectoryOptions.class, registry).parse("-d", "/usr/logs"))
+        .isEqualTo(new DirectoryOptions("/USR/LOGS"));
+    assertThat(ArgsParser.of(DirectoryOptions.class, registry).parse())
+        .isEqualTo(new DirectoryOptions("none"));
+  }
+
+  @Test
+  void should_find_parser_by_supertype() {
+    final OptionParser<Shape> parser = OptionParsers.unary(null, Circle::new);
+    final var registry = new OptionParserRegistry();
+    registry.register(Shape.class, parser);
+
+    assertThat(registry.find(Circle.class)).isSameAs(parser);
+    assertThat(registry.find(Shape.class)).isSameAs(parser);
+  }
+
+  @Test
+  void should_prefer_exact_type_to_supertype() {
+    final OptionParser<Shape> shape = OptionParsers.unary(null, Circle::new);
+    final OptionParser<Circle> circle = OptionParsers.unary(null, Circle::new);
+    final var registry = new OptionParserRegistry();
+    registry.register(Shape.class, shape);
+    registry.register(Circle.class, circle);
+
+    assertThat(registry.find(Circle.class)).isSameAs(circle);
+  }
+
+  @Test
+  void should_parse_enum_without_registration() {
+    final var registry = new OptionParserRegistry();
+
+    assertThat(ArgsParser.of(LevelOptions.class, registry).parse("-v", "DEBUG"))
+        .isEqualTo(new LevelOptions(Level.DEBUG));
+    assertThat(ArgsParser.of(LevelOptions.class, registry).parse())
+        .isEqualTo(new LevelOptions(null));
+    assertThrows(IllegalOptionValueException.class,
+        () -> ArgsParser.of(LevelOptions.class, registry).parse("-v", "TRACE"));
+  }
+
+  @Test
+  void should_not_let_interface_parser_take_over_enum() {
+    final var registry = new OptionParserRegistry()
+        .register(Comparable.class, null, value -> value.toString());
+
+    assertThat(ArgsParser.of(LevelOptions.class, registry).parse("-v", "DEBUG"))
+        .isEqualTo(new LevelOptions(Level.DEBUG));
+  }
+
+  @Test
+  void should_parse_list_and_set_by_element_type() {
+    final var registry = new OptionParserRegistry()
+        .register(Point.class, new Point(0, 0), Point::parse);
+
+    assertThat(ArgsParser.of(CollectionOptions.class, registry)
+        .parse("-p", "1,2", "3,4", "-l", "INFO", "DEBUG", "INFO", "-d", "1s", "1m"))
+        .isEqualTo(new CollectionOptions(List.of(new Point(1, 2), new Point(3, 4)),
+            Set.of(Level.INFO, Level.DEBUG), List.of(Duration.ofSeconds(1), Duration.ofMinutes(1))));
+  }
+
+  @Test
+  void should_throw_lack_parser_exception_if_element_type_not_registered() {
+    assertThrows(LackParserException.class,
+        () -> ArgsParser.of(CollectionOptions.class, new OptionParserRegistry()));
+  }
+
+  @Test
+  void should_parse_type_registered_after_lack_parser_failure() {
+    final var registry = new OptionParserRegistry();
+    assertThrows(LackParserException.class, () -> ArgsParser.of(PointOptions.class, registry));
+
+    registry.register(Point.class, null, Point::parse);
+
+    assertThat(ArgsParser.of(PointOptions.class, registry).parse("-o", "3,4"))
+        .isEqualTo(new PointOptions(new Point(3, 4)));
+  }
+
+  @Test
+  void should_recompile_cached_parser_after_global_registration() {
+    // 默认注册器的注册无法撤销，只注册本测试专用的类型，其它测试不使用该类型
+    assertThrows(LackParserException.class,
+        () -> Args.parse(RecompiledOptions.class, "-g", "1,2"));
+
+    OptionParserRegistry.global().register(RecompiledPoint.class, null,
+        value -> new RecompiledPoint(Point.parse(value)));
+
+    assertThat(Args.parse(RecompiledOptions.class, "-g", "3,4"))
+        .isEqualTo(new RecompiledOptions(new RecompiledPoint(new Point(3, 4))));
+  }
+
+  @Test
+  void should_register_while_parsing_concurrently() throws Exception {
+    final var registry = new OptionParserRegistry();
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            if (!registry.supports(int.class) || registry.find(String.class) == null) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (int i = 0; i < 100; i++) {
+        registry.register(Point.class, new Point(i, i), Point::parse);
+      }
+      for (var future : futures) {
+        assertThat(future.get()).isTrue();
+      }
+      assertThat(registry.supports(Point.class)).isTrue();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public record Point(int x, int y) {
+
+    static Point parse(String value) {
+      final var parts = value.split(",");
+      return new Point(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+  }
+
+  public interface Shape {
+
+  }
+
+  public record Circle(String radius) implements Shape {
+
+  }
+
+  public enum Level {
+    DEBUG, INFO
+  }
+
+  public record PointOptions(@Option("o") Point origin) {
+
+  }
+
+  public record DirectoryOptions(@Option("d") String directory) {
+
+  }
+
+  public record LevelOptions(@Option("v") Level level) {
+
+  }
+
+  public record CollectionOptions(
+      @Option("p") List<Point> points,
+      @Option("l") Set<Level> levels,
+      @Option("d") List<Duration> delays) {
+
+  }
+
+  /**
+   * 只用于 {@link #should_recompile_cached_parser_after_global_registration()}
+   */
+  public record RecompiledPoint(Point point) {
+
+  }
+
+  public record RecompiledOptions(@Option("g") RecompiledPoint point) {
+
+  }
+}
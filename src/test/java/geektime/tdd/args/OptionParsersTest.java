@@ -1,8 +1,16 @@
 package geektime.tdd.args;
 
 import static geektime.tdd.args.OptionParsers.bool;
+import static geektime.tdd.args.OptionParsers.doubleList;
+import static geektime.tdd.args.OptionParsers.doubleUnary;
+import static geektime.tdd.args.OptionParsers.intList;
+import static geektime.tdd.args.OptionParsers.intUnary;
 import static geektime.tdd.args.OptionParsers.list;
+import static geektime.tdd.args.OptionParsers.longList;
+import static geektime.tdd.args.OptionParsers.longUnary;
+import static geektime.tdd.args.OptionParsers.parallelList;
 import static geektime.tdd.args.OptionParsers.unary;
+import static geektime.tdd.args.Options.option;
 import static java.util.function.Function.identity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -13,9 +21,13 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
 import geektime.tdd.args.exception.InsufficientArgumentsException;
 import geektime.tdd.args.exception.TooManyArgumentsException;
-import java.lang.annotation.Annotation;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
@@ -278,19 +290,218 @@ class OptionParsersTest {
     }
   }
 
-  Option option(String value) {
-    return new Option() {
+  @Nested
+  class PrimitiveOptionParserTest {
+
+    // happy path:
+    // int -p 8080 / long -s 9223372036854775807 / double -r 0.75
+    @Test
+    void should_parse_primitive_option_value_without_boxing() {
+      final var arguments = ArgumentIndex.of(
+          List.of("-p", "8080", "-s", "9223372036854775807", "-r", "0.75"));
+
+      assertThat(intUnary(0).parseInt(arguments, option("p"))).isEqualTo(8080);
+      assertThat(longUnary(0L).parseLong(arguments, option("s"))).isEqualTo(Long.MAX_VALUE);
+      assertThat(doubleUnary(0D).parseDouble(arguments, option("r"))).isEqualTo(0.75);
+      assertThat(bool().parseBoolean(arguments, option("l"))).isFalse();
+    }
+
+    // default value
+    @Test
+    void should_set_default_value_if_primitive_option_not_present() {
+      final var arguments = ArgumentIndex.of(List.of());
+
+      assertThat(intUnary(7).parseInt(arguments, option("p"))).isEqualTo(7);
+      assertThat(longUnary(7L).parseLong(arguments, option("p"))).isEqualTo(7L);
+      assertThat(doubleUnary(7D).parseDouble(arguments, option("p"))).isEqualTo(7D);
+    }
+
+    // sad path:
+    // -p 8080L / -p 2147483648
+    @ParameterizedTest
+    @ValueSource(strings = {"8080L", "2147483648", "+"})
+    void should_throw_illegal_argument_exception_for_invalid_int_value(String value) {
+      final var parser = intUnary(0);
+      final var arguments = List.of("-p", value);
+
+      IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+          () -> parser.parse(arguments, option("p")));
+      assertThat(e.getMessage()).startsWith("p");
+    }
+
+    @Test
+    void should_not_accept_extra_argument_for_long_single_value_option() {
+      final var parser = longUnary(0L);
+      final var arguments = List.of("-s", "1", "2");
 
-      @Override
-      public Class<? extends Annotation> annotationType() {
-        return Option.class;
+      TooManyArgumentsException e = assertThrows(TooManyArgumentsException.class,
+          () -> parser.parse(arguments, option("s")));
+      assertThat(e.getOption()).isEqualTo("s");
+    }
+
+    // -d 1 2 -3 5
+    @Test
+    void should_parse_primitive_arrays_as_option_value() {
+      final var arguments = List.of("-d", "1", "2", "-3", "5");
+
+      assertThat(intList(new int[0]).parse(arguments, option("d")))
+          .isEqualTo(new int[] {1, 2, -3, 5});
+      assertThat(longList(new long[0]).parse(arguments, option("d")))
+          .isEqualTo(new long[] {1, 2, -3, 5});
+      assertThat(doubleList(new double[0]).parse(arguments, option("d")))
+          .isEqualTo(new double[] {1, 2, -3, 5});
+    }
+
+    @Test
+    void should_not_accept_insufficient_argument_for_primitive_array_option() {
+      final var parser = intList(new int[0]);
+      final var arguments = List.of("-d", "-l");
+
+      InsufficientArgumentsException e = assertThrows(InsufficientArgumentsException.class,
+          () -> parser.parse(arguments, option("d")));
+      assertThat(e.getOption()).isEqualTo("d");
+    }
+
+    @Test
+    void should_throw_illegal_argument_exception_for_invalid_array_value() {
+      final var parser = longList(new long[0]);
+      final var arguments = List.of("-d", "123", "123c");
+
+      IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+          () -> parser.parse(arguments, option("d")));
+      assertThat(e.getMessage()).startsWith("d");
+    }
+  }
+
+  @Nested
+  class ParallelListValueOptionParserTest {
+
+    // -d 0 1 2 ... 99，每个子任务最多4个参数值
+    @Test
+    void should_parse_values_in_order_when_above_threshold() {
+      final var parser = parallelList(new Integer[0], Integer[]::new, Integer::parseInt, 4);
+      final var arguments = arguments("-d", 100);
+
+      final var values = parser.parse(arguments, option("d"));
+      assertThat(values).hasSize(100);
+      for (int i = 0; i < values.length; i++) {
+        assertThat(values[i]).isEqualTo(i);
       }
+    }
+
+    // 多个参数值格式不对时，报告位置最靠前的一个
+    @Test
+    void should_report_first_invalid_value_position() {
+      final var parser = parallelList(new Integer[0], Integer[]::new, Integer::parseInt, 4);
+      final var arguments = arguments("-d", 100);
+      arguments.set(90, "90c");
+      arguments.set(41, "40c");
+      arguments.set(70, "69c");
+
+      final var exception = assertThrows(IllegalOptionValueException.class,
+          () -> parser.parse(arguments, option("d")));
+      assertThat(exception.getTokenIndex()).isEqualTo(41);
+    }
+
+    @Test
+    void should_parse_sequentially_below_threshold() {
+      final var parser = parallelList(new String[0], String[]::new, identity(), 4);
+      assertThat(parser.parse(List.of("-g", "this", "is"), option("g")))
+          .isEqualTo(new String[] {"this", "is"});
+    }
+
+    @Test
+    void should_return_default_value_when_option_lack() {
+      final var parser = parallelList(new String[0], String[]::new, identity(), 4);
+      assertThat(parser.parse(List.of(), option("g"))).isEmpty();
+    }
 
-      @Override
-      public String value() {
-        return value;
+    private List<String> arguments(String flag, int size) {
+      final List<String> arguments = new ArrayList<>();
+      arguments.add(flag);
+      for (int i = 0; i < size; i++) {
+        arguments.add(String.valueOf(i));
       }
-    };
+      return arguments;
+    }
+  }
+
+  @Nested
+  class ProductionTypeOptionParserTest {
+
+    @Test
+    void should_parse_duration_byte_size_path_and_socket_address() {
+      final var arguments = ArgumentIndex.of(List.of(
+          "-t", "1h30m", "-s", "512MiB", "-p", "/usr/logs", "-a", "localhost:8080"));
+
+      assertThat(OptionParsers.duration().parse(arguments, option("t")))
+          .isEqualTo(Duration.ofMinutes(90));
+      assertThat(OptionParsers.byteSize().parse(arguments, option("s")))
+          .isEqualTo(new ByteSize(512L << 20));
+      assertThat(OptionParsers.path().parse(arguments, option("p")))
+          .isEqualTo(Path.of("/usr/logs"));
+      assertThat(OptionParsers.socketAddress().parse(arguments, option("a")))
+          .isEqualTo(InetSocketAddress.createUnresolved("localhost", 8080));
+    }
+
+    @Test
+    void should_set_default_value_if_option_not_present() {
+      final var arguments = ArgumentIndex.of(List.of());
+
+      assertThat(OptionParsers.duration().parse(arguments, option("t"))).isEqualTo(Duration.ZERO);
+      assertThat(OptionParsers.byteSize().parse(arguments, option("s"))).isEqualTo(ByteSize.ZERO);
+      assertThat(OptionParsers.path().parse(arguments, option("p"))).isNull();
+      assertThat(OptionParsers.enumUnary(Level.class).parse(arguments, option("v"))).isNull();
+      assertThat(OptionParsers.listOf(NumberParsers::parseInt).parse(arguments, option("n")))
+          .isEmpty();
+      assertThat(OptionParsers.setOf(NumberParsers::parseInt).parse(arguments, option("n")))
+          .isEmpty();
+    }
+
+    @Test
+    void should_parse_enum_by_constant_name() {
+      final var parser = OptionParsers.enumUnary(Level.class);
+
+      assertThat(parser.parse(List.of("-v", "DEBUG"), option("v"))).isEqualTo(Level.DEBUG);
+      assertThat(parser.parse(List.of("-v", "DEBUG_ALL"), option("v"))).isEqualTo(Level.DEBUG_ALL);
+      final var e = assertThrows(IllegalOptionValueException.class,
+          () -> parser.parse(List.of("-v", "DEBU"), option("v")));
+      assertThat(e.getTokenIndex()).isEqualTo(1);
+    }
+
+    @Test
+    void should_parse_list_and_set_in_command_line_order() {
+      final var arguments = List.of("-n", "3", "1", "3", "2");
+
+      assertThat(OptionParsers.listOf(NumberParsers::parseInt).parse(arguments, option("n")))
+          .containsExactly(3, 1, 3, 2);
+      assertThat(OptionParsers.setOf(NumberParsers::parseInt).parse(arguments, option("n")))
+          .containsExactly(3, 1, 2);
+    }
+
+    @Test
+    void should_report_position_of_illegal_element() {
+      final var exception = assertThrows(IllegalOptionValueException.class,
+          () -> OptionParsers.listOf(ValueParsers::parseDuration)
+              .parse(List.of("-t", "1s", "2x", "3s"), option("t")));
+      assertThat(exception.getTokenIndex()).isEqualTo(2);
+    }
+
+    @Test
+    void should_throw_insufficient_arguments_exception_if_list_has_no_value() {
+      assertThrows(InsufficientArgumentsException.class,
+          () -> OptionParsers.listOf(NumberParsers::parseInt).parse(List.of("-n"), option("n")));
+    }
+
+    @Test
+    void should_throw_too_many_arguments_exception_for_duration() {
+      assertThrows(TooManyArgumentsException.class,
+          () -> OptionParsers.duration().parse(List.of("-t", "1s", "2s"), option("t")));
+    }
+  }
+
+  enum Level {
+    DEBUG, DEBUG_ALL, INFO
   }
 
 }
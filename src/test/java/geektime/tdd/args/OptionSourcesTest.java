@@ -0,0 +1,158 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.UnknownOptionException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class OptionSourcesTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void should_use_source_values_for_options_absent_from_command_line() {
+    final var sources = OptionSources.builder()
+        .map(Map.of("p", "8080", "d", "/usr/logs", "g", "a 'b c'"))
+        .build();
+
+    assertThat(Args.parse(ServerOptions.class, sources, "-p", "9090"))
+        .isEqualTo(new ServerOptions(false, 9090, "/usr/logs", List.of("a", "b c")));
+  }
+
+  @Test
+  void should_prefer_higher_layer() throws Exception {
+    final var file = Files.writeString(directory.resolve("server.properties"), "p=8080\nd=/tmp\n");
+    final var sources = OptionSources.builder()
+        .properties(file)
+        .environment("APP_", Map.of("APP_P", "7070", "APP_L", "true", "OTHER_D", "/var"))
+        .build();
+
+    assertThat(Args.parse(ServerOptions.class, sources, "-g", "x"))
+        .isEqualTo(new ServerOptions(true, 8080, "/tmp", List.of("x")));
+  }
+
+  @Test
+  void should_treat_non_true_boolean_value_as_absent_and_shadow_lower_layers() {
+    final var sources = OptionSources.builder()
+        .map(Map.of("l", "false"))
+        .map(Map.of("l", "true"))
+        .build();
+
+    assertThat(Args.parse(ServerOptions.class, sources).logging()).isFalse();
+    assertThat(Args.parse(ServerOptions.class, sources, "-l").logging()).isTrue();
+  }
+
+  @Test
+  void should_reload_properties_only_when_modified() throws Exception {
+    final var file = Files.writeString(directory.resolve("server.properties"), "p=8080\n");
+    final var modified = Files.getLastModifiedTime(file);
+    final var parser = ArgsParser.of(ServerOptions.class)
+        .withSources(OptionSources.builder().properties(file, Duration.ZERO).build());
+
+    assertThat(parser.parse().port()).isEqualTo(8080);
+    // 修改时间不变时不重新读取
+    Files.writeString(file, "p=9090\n");
+    Files.setLastModifiedTime(file, modified);
+    assertThat(parser.parse().port()).isEqualTo(8080);
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 1000));
+    assertThat(parser.parse().port()).isEqualTo(9090);
+
+    Files.delete(file);
+    assertThat(parser.parse().port()).isEqualTo(0);
+  }
+
+  @Test
+  void should_not_check_properties_within_check_interval() throws Exception {
+    final var file = Files.writeString(directory.resolve("server.properties"), "p=8080\n");
+    final var parser = ArgsParser.of(ServerOptions.class)
+        .withSources(OptionSources.builder().properties(file, Duration.ofHours(1)).build());
+
+    assertThat(parser.parse().port()).isEqualTo(8080);
+    Files.writeString(file, "p=9090\n");
+    Files.setLastModifiedTime(file,
+        FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+    assertThat(parser.parse().port()).isEqualTo(8080);
+  }
+
+  @Test
+  void should_reject_negative_check_interval() {
+    assertThrows(IllegalArgumentException.class,
+        () -> OptionSources.builder().properties(directory, Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  void should_ignore_source_keys_not_defined_by_options_class_in_strict_mode() {
+    final var parser = ArgsParser.of(ServerOptions.class).strict()
+        .withSources(OptionSources.builder().map(Map.of("x", "1", "p", "8080")).build());
+
+    assertThat(parser.parse().port()).isEqualTo(8080);
+    assertThrows(UnknownOptionException.class, () -> parser.parse("-x"));
+  }
+
+  @Test
+  void should_take_whole_value_of_single_valued_option_as_one_argument() throws Exception {
+    final var file = Files.writeString(directory.resolve("args.txt"), "-p 1");
+    final var reference = "@" + file;
+
+    assertThat(Args.parse(ServerOptions.class,
+        OptionSources.builder().map(Map.of("d", "C:/Program Files")).build()).directory())
+        .isEqualTo("C:/Program Files");
+    assertThat(Args.parse(ServerOptions.class,
+        OptionSources.builder().map(Map.of("d", "-abc")).build()).directory())
+        .isEqualTo("-abc");
+    assertThat(Args.parse(ServerOptions.class,
+        OptionSources.builder().map(Map.of("d", reference)).build()))
+        .isEqualTo(new ServerOptions(false, 0, reference, List.of()));
+  }
+
+  @Test
+  void should_not_take_split_list_values_as_flags() {
+    final var sources = OptionSources.builder().map(Map.of("g", "-l -p")).build();
+
+    assertThat(Args.parse(ServerOptions.class, sources))
+        .isEqualTo(new ServerOptions(false, 0, "", List.of("-l", "-p")));
+  }
+
+  @Test
+  void should_map_dash_in_flag_to_underscore_in_environment_variable_name() {
+    final var sources = OptionSources.builder()
+        .environment("APP_", Map.of("APP_LOG_DIR", "/var/log"))
+        .build();
+
+    assertThat(Args.parse(LogOptions.class, sources)).isEqualTo(new LogOptions("/var/log"));
+  }
+
+  @Test
+  void should_layer_sources_when_reparse_snapshot() {
+    final var parser = ArgsParser.of(ServerOptions.class)
+        .withSources(OptionSources.builder().map(Map.of("d", "/usr/logs")).build());
+
+    final var snapshot = parser.snapshot("-p", "8080").reparse("-p", "9090");
+
+    assertThat(snapshot.value()).isEqualTo(new ServerOptions(false, 9090, "/usr/logs", List.of()));
+    assertThat(snapshot.converted()).isEqualTo(1);
+  }
+
+  record ServerOptions(@Option("l") boolean logging, @Option("p") int port,
+                       @Option("d") String directory, @Option("g") List<String> group) {
+
+  }
+
+  record LogOptions(@Option("log-dir") String logDir) {
+
+  }
+}
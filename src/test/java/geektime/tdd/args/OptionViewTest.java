@@ -0,0 +1,112 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 注解处理器生成实现类的选项视图接口
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class OptionViewTest {
+
+  private static final String[] CMD_LINES = {
+      "-l", "-p", "8088", "-d", "/usr/logs", "-t", "1s", "5m", "-v", "DEBUG"};
+
+  @Test
+  void should_parse_option_view_interface() {
+    final var view = Args.parse(ServerView.class, CMD_LINES);
+
+    assertThat(view).isInstanceOf(OptionViewTest_ServerViewImpl.class);
+    assertThat(view.logging()).isTrue();
+    assertThat(view.port()).isEqualTo(8088);
+    assertThat(view.directory()).isEqualTo("/usr/logs");
+    assertThat(view.timeouts()).containsExactly(Duration.ofSeconds(1), Duration.ofMinutes(5));
+    assertThat(view.address()).isEqualTo("/usr/logs:8088");
+  }
+
+  @Test
+  void should_set_default_value_if_option_not_present() {
+    final var view = Args.parse(ServerView.class, "-l");
+
+    assertThat(view.port()).isEqualTo(0);
+    assertThat(view.directory()).isEqualTo("");
+    assertThat(view.timeouts()).isEmpty();
+  }
+
+  @Test
+  void should_share_one_argument_index_across_views() {
+    final var args = new Args(CMD_LINES);
+
+    final var server = args.parse(ServerView.class);
+    final var logging = args.parse(LoggingView.class);
+
+    assertThat(server.port()).isEqualTo(8088);
+    assertThat(logging.enabled()).isTrue();
+    assertThat(logging.level().get()).isEqualTo(Level.DEBUG);
+    assertThat(args.parse(MultiOptions.class)).isEqualTo(new MultiOptions(true, 8088));
+  }
+
+  @Test
+  void should_throw_exception_same_as_record() {
+    assertThrows(TooManyArgumentsException.class,
+        () -> Args.parse(ServerView.class, "-p", "8080", "8081"));
+  }
+
+  @Test
+  void should_throw_argument_parse_exception_if_implementation_not_generated() {
+    assertThrows(ArgumentParseException.class, () -> Args.parse(Runnable.class, "-l"));
+  }
+
+  @Test
+  void should_print_option_values() {
+    assertThat(Args.parse(LoggingView.class, "-l").toString())
+        .startsWith("OptionViewTest_LoggingViewImpl[enabled=true, level=");
+  }
+
+  public interface ServerView {
+
+    @Option("l")
+    boolean logging();
+
+    @Option("p")
+    int port();
+
+    @Option("d")
+    String directory();
+
+    @Option("t")
+    List<Duration> timeouts();
+
+    default String address() {
+      return directory() + ":" + port();
+    }
+  }
+
+  public interface LoggingView {
+
+    @Option("l")
+    boolean enabled();
+
+    @Option("v")
+    Lazy<Level> level();
+  }
+
+  public enum Level {
+    DEBUG, INFO
+  }
+
+  public record MultiOptions(@Option("l") boolean logging, @Option("p") int port) {
+
+  }
+}
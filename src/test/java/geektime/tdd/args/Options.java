@@ -0,0 +1,30 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import java.lang.annotation.Annotation;
+
+/**
+ * 测试用的 {@link Option} 标注实例，供单独测试解释器、参数索引时使用
+ *
+ * @author 李小平
+ */
+final class Options {
+
+  private Options() {
+  }
+
+  static Option option(String value) {
+    return new Option() {
+
+      @Override
+      public Class<? extends Annotation> annotationType() {
+        return Option.class;
+      }
+
+      @Override
+      public String value() {
+        return value;
+      }
+    };
+  }
+}
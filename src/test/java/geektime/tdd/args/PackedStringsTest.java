@@ -0,0 +1,167 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class PackedStringsTest {
+
+  @Test
+  void should_keep_values_in_order() {
+    final var values = PackedStrings.of(List.of("host-1", "host-2", "", "host-3"));
+
+    assertThat(values.size()).isEqualTo(4);
+    assertThat(strings(values)).isEqualTo(List.of("host-1", "host-2", "", "host-3"));
+  }
+
+  @Test
+  void should_store_duplicated_values_once() {
+    final var values = PackedStrings.of(List.of("a", "b", "a", "a", "b"));
+
+    assertThat(strings(values)).isEqualTo(List.of("a", "b", "a", "a", "b"));
+    assertThat(values.distinct()).isEqualTo(2);
+    assertThat(values.get(0)).isEqualTo(values.get(2));
+  }
+
+  @Test
+  void should_keep_duplicated_values_without_deduplication() {
+    final var values = new PackedStrings.Builder(false).add("a").add("a").build();
+
+    assertThat(strings(values)).isEqualTo(List.of("a", "a"));
+    assertThat(values.distinct()).isEqualTo(2);
+  }
+
+  @Test
+  void should_deduplicate_many_values() {
+    final var builder = new PackedStrings.Builder(true);
+    for (int i = 0; i < 10_000; i++) {
+      builder.add("host-" + i % 1000);
+    }
+
+    final var values = builder.build();
+
+    assertThat(values.size()).isEqualTo(10_000);
+    assertThat(values.distinct()).isEqualTo(1000);
+    assertThat(values.get(4321).toString()).isEqualTo("host-321");
+  }
+
+  @Test
+  void should_store_non_latin1_values() {
+    final var values = PackedStrings.of(List.of("abc", "主机", "é"));
+
+    assertThat(strings(values)).isEqualTo(List.of("abc", "主机", "é"));
+    assertThat(values.get(1).charAt(1)).isEqualTo('机');
+  }
+
+  @Test
+  void should_view_values_as_char_sequence() {
+    final var value = PackedStrings.of(List.of("x", "host-42")).get(1);
+
+    assertThat(value.length()).isEqualTo(7);
+    assertThat(value.subSequence(5, 7).toString()).isEqualTo("42");
+    assertThat(value.hashCode()).isEqualTo("host-42".hashCode());
+    assertThat(CharSequence.compare(value, "host-42")).isEqualTo(0);
+    assertThrows(IndexOutOfBoundsException.class, () -> value.charAt(7));
+  }
+
+  @Test
+  void should_find_and_compare_values_by_content() {
+    final var values = PackedStrings.of(List.of("a", "b", "a"));
+
+    assertThat(values.contains("a")).isTrue();
+    assertThat(values.contains(new StringBuilder("b"))).isTrue();
+    assertThat(values.contains("c")).isFalse();
+    assertThat(values.contains(1)).isFalse();
+    assertThat(values.indexOf("a")).isEqualTo(0);
+    assertThat(values.lastIndexOf("a")).isEqualTo(2);
+    assertThat(values.indexOf("c")).isEqualTo(-1);
+    assertThat(values.contentEquals(List.of("a", "b", "a"))).isTrue();
+    assertThat(values.contentEquals(List.of("a", "b"))).isFalse();
+    assertThat(values.hashCode()).isEqualTo(List.of("a", "b", "a").hashCode());
+  }
+
+  @Test
+  void should_find_last_value_without_deduplication() {
+    final var values = new PackedStrings.Builder(false).add("a").add("b").add("a").build();
+
+    assertThat(values.indexOf("a")).isEqualTo(0);
+    assertThat(values.lastIndexOf("a")).isEqualTo(2);
+    assertThat(values.lastIndexOf("b")).isEqualTo(1);
+  }
+
+  @Test
+  void should_keep_list_equals_symmetric() {
+    final var values = PackedStrings.of(List.of("a", "b"));
+    final var strings = List.of("a", "b");
+
+    assertThat(values.equals(strings)).isFalse();
+    assertThat(strings.equals(values)).isFalse();
+    assertThat(values.equals(PackedStrings.of(List.of("a", "b")))).isTrue();
+  }
+
+  @Test
+  void should_find_values_without_duplicates() {
+    final var values = PackedStrings.of(List.of("x", "主机"));
+
+    assertThat(values.indexOf("主机")).isEqualTo(1);
+    assertThat(values.lastIndexOf("x")).isEqualTo(0);
+    assertThat(values.contains("主")).isFalse();
+  }
+
+  @Test
+  void should_be_read_only() {
+    final var values = PackedStrings.of(List.of("a"));
+
+    assertThrows(UnsupportedOperationException.class, () -> values.add("b"));
+    assertThrows(IndexOutOfBoundsException.class, () -> values.get(1));
+    assertThat(PackedStrings.EMPTY.isEmpty()).isTrue();
+  }
+
+  private static List<String> strings(List<CharSequence> values) {
+    final var strings = new ArrayList<String>();
+    for (var value : values) {
+      strings.add(value.toString());
+    }
+    return strings;
+  }
+
+  @Nested
+  class PackedStringsOptionTest {
+
+    @Test
+    void should_parse_packed_list_option() {
+      final var options = Args.parse(HostOptions.class,
+          "-g", "host-1", "host-2", "host-1", "-p", "a", "b");
+
+      assertThat(strings(options.group())).isEqualTo(List.of("host-1", "host-2", "host-1"));
+      assertThat(((PackedStrings) options.group()).distinct()).isEqualTo(2);
+      assertThat(strings(options.packed())).isEqualTo(List.of("a", "b"));
+    }
+
+    @Test
+    void should_use_empty_list_if_option_not_present() {
+      final var options = Args.parse(HostOptions.class, "-p", "a");
+
+      assertThat(options.group()).isSameAs(PackedStrings.EMPTY);
+    }
+
+    @Test
+    void should_throw_insufficient_arguments_if_no_value() {
+      assertThrows(InsufficientArgumentsException.class,
+          () -> Args.parse(HostOptions.class, "-g"));
+    }
+  }
+
+  record HostOptions(@Option("g") List<CharSequence> group, @Option("p") PackedStrings packed) {
+
+  }
+}
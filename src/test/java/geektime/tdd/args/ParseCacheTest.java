@@ -0,0 +1,174 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ParseCacheTest {
+
+  @Test
+  void should_return_cached_instance_for_same_command_line() {
+    final var cache = new ParseCache(16, 1L << 20);
+
+    final var first = cache.parse(ServerOptions.class, "-p", "8080", "-d", "/tmp");
+    final var second = cache.parse(ServerOptions.class, "-p", "8080", "-d", "/tmp");
+
+    assertThat(second).isSameAs(first);
+    assertThat(cache.stats()).isEqualTo(new ParseCache.Stats(1, 1, 0, 1, cache.stats().weight()));
+    assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void should_distinguish_options_class_and_arguments() {
+    final var cache = new ParseCache(16, 1L << 20);
+
+    final var server = cache.parse(ServerOptions.class, "-p", "8080");
+    final var other = cache.parse(ServerOptions.class, "-p", "8081");
+    final var port = cache.parse(PortOption.class, "-p", "8080");
+
+    assertThat(other).isNotSameAs(server);
+    assertThat(port.port()).isEqualTo(8080);
+    assertThat(cache.stats().misses()).isEqualTo(3);
+  }
+
+  @Test
+  void should_not_be_affected_by_later_changes_of_argument_array() {
+    final var cache = new ParseCache(16, 1L << 20);
+    final var cmdLines = new String[]{"-p", "8080"};
+
+    final var first = cache.parse(ServerOptions.class, cmdLines);
+    cmdLines[1] = "9090";
+
+    assertThat(cache.parse(ServerOptions.class, cmdLines).port()).isEqualTo(9090);
+    assertThat(cache.parse(ServerOptions.class, "-p", "8080")).isSameAs(first);
+  }
+
+  @Test
+  void should_evict_least_recently_used_entry_when_size_exceeded() {
+    final var cache = new ParseCache(2, 1L << 20);
+
+    final var first = cache.parse(ServerOptions.class, "-p", "1");
+    cache.parse(ServerOptions.class, "-p", "2");
+    // 访问第一个条目，第二个条目成为最旧的条目
+    cache.parse(ServerOptions.class, "-p", "1");
+    cache.parse(ServerOptions.class, "-p", "3");
+
+    assertThat(cache.parse(ServerOptions.class, "-p", "1")).isSameAs(first);
+    assertThat(cache.stats().evictions()).isEqualTo(1);
+    assertThat(cache.stats().size()).isEqualTo(2);
+    cache.parse(ServerOptions.class, "-p", "2");
+    assertThat(cache.stats().misses()).isEqualTo(4);
+  }
+
+  @Test
+  void should_evict_entries_when_weight_exceeded() {
+    final var cache = new ParseCache(100, 400L);
+
+    cache.parse(ServerOptions.class, "-p", "1");
+    cache.parse(ServerOptions.class, "-p", "2");
+    cache.parse(ServerOptions.class, "-p", "3");
+
+    assertThat(cache.stats().weight()).isLessThanOrEqualTo(400L);
+    assertThat(cache.stats().evictions()).isGreaterThan(0L);
+  }
+
+  @Test
+  void should_not_cache_failures() {
+    final var cache = new ParseCache(16, 1L << 20);
+
+    assertThrows(IllegalOptionValueException.class,
+        () -> cache.parse(ServerOptions.class, "-p", "80c"));
+
+    assertThat(cache.stats().size()).isEqualTo(0);
+  }
+
+  // 参数文件不展开，结果只取决于命令行参数
+  @Test
+  void should_cache_response_file_reference_as_literal(@TempDir Path directory)
+      throws Exception {
+    final var cache = new ParseCache(16, 1L << 20);
+    final var reference = "@" + Files.writeString(directory.resolve("args"), "-p 8080");
+
+    assertThat(cache.parse(ServerOptions.class, "-d", reference))
+        .isEqualTo(new ServerOptions(0, reference));
+    assertThat(cache.parse(ServerOptions.class, "-d", reference))
+        .isEqualTo(new ServerOptions(0, reference));
+    assertThat(cache.stats().hits()).isEqualTo(1L);
+  }
+
+  @Test
+  void should_keep_statistics_after_invalidate_all() {
+    final var cache = new ParseCache(16, 1L << 20);
+    cache.parse(ServerOptions.class, "-p", "8080");
+
+    cache.invalidateAll();
+
+    assertThat(cache.stats()).isEqualTo(new ParseCache.Stats(0, 1, 0, 0, 0));
+  }
+
+  @Test
+  void should_not_share_instances_with_array_options() {
+    final var cache = new ParseCache(16, 1L << 20);
+
+    final var first = cache.parse(GroupOptions.class, "-g", "this", "is");
+    first.group()[0] = "that";
+    final var second = cache.parse(GroupOptions.class, "-g", "this", "is");
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.group()).containsExactly("this", "is");
+    assertThat(cache.stats()).isEqualTo(new ParseCache.Stats(0, 0, 0, 0, 0));
+  }
+
+  @Test
+  void should_count_hits_from_concurrent_readers() throws InterruptedException {
+    final var cache = new ParseCache(16, 1L << 20);
+    final var expected = cache.parse(ServerOptions.class, "-p", "8080");
+    final var threads = new Thread[4];
+    final var shared = new boolean[threads.length];
+    for (int i = 0; i < threads.length; i++) {
+      final var index = i;
+      threads[i] = new Thread(() -> {
+        var same = true;
+        for (int n = 0; n < 1000; n++) {
+          same &= cache.parse(ServerOptions.class, "-p", "8080") == expected;
+        }
+        shared[index] = same;
+      });
+      threads[i].start();
+    }
+    for (var thread : threads) {
+      thread.join();
+    }
+
+    assertThat(shared).containsOnly(true);
+    assertThat(cache.stats().hits()).isEqualTo(4000L);
+    assertThat(cache.stats().misses()).isEqualTo(1L);
+  }
+
+  @Test
+  void should_reject_non_positive_limits() {
+    assertThrows(IllegalArgumentException.class, () -> new ParseCache(0, 1L));
+    assertThrows(IllegalArgumentException.class, () -> new ParseCache(1, 0L));
+  }
+
+  record ServerOptions(@Option("p") int port, @Option("d") String directory) {
+
+  }
+
+  record PortOption(@Option("p") int port) {
+
+  }
+
+  record GroupOptions(@Option("g") String[] group) {
+
+  }
+}
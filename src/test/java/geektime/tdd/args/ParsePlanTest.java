@@ -0,0 +1,106 @@
+package geektime.tdd.args;
+
+import static geektime.tdd.args.OptionParsers.bool;
+import static geektime.tdd.args.OptionParsers.unary;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.LackOptionException;
+import geektime.tdd.args.exception.LackParserException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 目标对象解释计划
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ParsePlanTest {
+
+  private static final Map<Class<?>, OptionParser<?>> REGISTER = Map.of(
+      boolean.class, bool(),
+      int.class, unary(0, Integer::valueOf),
+      String.class, unary("", Function.identity()));
+
+  @Test
+  void should_parse_with_compiled_plan_many_times() {
+    final var plan = ParsePlan.compile(MultiOptions.class, REGISTER);
+
+    assertThat(plan.parse(ArgumentIndex.of(List.of("-l", "-p", "8080"))))
+        .isEqualTo(new MultiOptions(true, 8080, ""));
+    assertThat(plan.parse(ArgumentIndex.of(List.of("-d", "/usr/logs"))))
+        .isEqualTo(new MultiOptions(false, 0, "/usr/logs"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void should_call_option_parser_once_per_parse() {
+    Function<String, String> mockParse = mock(Function.class);
+    final var plan = ParsePlan.compile(MultiOptions.class, Map.of(
+        boolean.class, bool(),
+        int.class, unary(0, Integer::valueOf),
+        String.class, unary("", mockParse)));
+
+    plan.parse(ArgumentIndex.of(List.of("-d", "/usr/logs")));
+    plan.parse(ArgumentIndex.of(List.of("-d", "/usr/logs")));
+
+    verify(mockParse, times(2)).apply("/usr/logs");
+  }
+
+  // 构造器抛出的异常包装为 ArgumentParseException
+  @Test
+  void should_wrap_exception_thrown_by_constructor() {
+    final var plan = ParsePlan.compile(ValidatedOptions.class, REGISTER);
+
+    final var exception = assertThrows(ArgumentParseException.class,
+        () -> plan.parse(ArgumentIndex.of(List.of("-p", "-1"))));
+    assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+  }
+
+  // 缺少@Option、缺少解释器在编译计划时即报错
+  @Test
+  void should_throw_lack_option_exception_when_compile_plan() {
+    final var exception = assertThrows(LackOptionException.class,
+        () -> ParsePlan.compile(LackOptionOptions.class, REGISTER));
+    assertThat(exception.getOption()).contains("port");
+  }
+
+  @Test
+  void should_throw_lack_parser_exception_when_compile_plan() {
+    final var exception = assertThrows(LackParserException.class,
+        () -> ParsePlan.compile(LackParserOptions.class, REGISTER));
+    assertThat(exception.getOption()).contains("port");
+  }
+
+  public record MultiOptions(
+      @Option("l") boolean logging,
+      @Option("p") int port,
+      @Option("d") String directory) {}
+
+  public record ValidatedOptions(@Option("p") int port) {
+
+    public ValidatedOptions {
+      if (port < 0) {
+        throw new IllegalStateException("port");
+      }
+    }
+  }
+
+  public record LackOptionOptions(
+      @Option("l") boolean logging,
+      int port) {}
+
+  public record LackParserOptions(
+      @Option("l") boolean logging,
+      @Option("p") Long port) {}
+}
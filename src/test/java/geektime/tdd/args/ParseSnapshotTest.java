@@ -0,0 +1,99 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import java.util.List;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ParseSnapshotTest {
+
+  private final ArgsParser<ServerOptions> parser = ArgsParser.of(ServerOptions.class);
+
+  @Test
+  void should_parse_all_options_for_first_snapshot() {
+    final var snapshot = parser.snapshot("-l", "-p", "8080", "-g", "a", "b");
+
+    assertThat(snapshot.value()).isEqualTo(
+        new ServerOptions(true, 8080, List.of("a", "b")));
+    assertThat(snapshot.converted()).isEqualTo(3);
+  }
+
+  @Test
+  void should_only_convert_changed_options() {
+    final var snapshot = parser.snapshot("-l", "-p", "8080", "-g", "a", "b");
+
+    final var changed = snapshot.reparse("-g", "a", "b", "-p", "9090", "-l");
+
+    assertThat(changed.value()).isEqualTo(new ServerOptions(true, 9090, List.of("a", "b")));
+    assertThat(changed.converted()).isEqualTo(1);
+    // 未变化的列表直接复用
+    assertThat(changed.value().group()).isSameAs(snapshot.value().group());
+  }
+
+  @Test
+  void should_convert_option_that_appears_or_disappears() {
+    final var snapshot = parser.snapshot("-p", "8080");
+
+    final var added = snapshot.reparse("-p", "8080", "-l");
+    final var removed = added.reparse("-p", "8080");
+
+    assertThat(added.value().logging()).isTrue();
+    assertThat(added.converted()).isEqualTo(1);
+    assertThat(removed.value().logging()).isFalse();
+    assertThat(removed.converted()).isEqualTo(1);
+  }
+
+  @Test
+  void should_convert_option_whose_value_count_changed() {
+    final var snapshot = parser.snapshot("-g", "a", "b");
+
+    final var changed = snapshot.reparse("-g", "a", "b", "c");
+
+    assertThat(changed.value().group()).containsExactly("a", "b", "c");
+    assertThat(changed.converted()).isEqualTo(1);
+  }
+
+  @Test
+  void should_reuse_instance_when_nothing_changed() {
+    final var snapshot = parser.snapshot("-l", "-p", "8080");
+
+    final var same = snapshot.reparse("-p", "8080", "-l");
+
+    assertThat(same.value()).isSameAs(snapshot.value());
+    assertThat(same.converted()).isEqualTo(0);
+  }
+
+  @Test
+  void should_keep_previous_snapshot_when_reparse_failed() {
+    final var snapshot = parser.snapshot("-p", "8080");
+    final var cmdLines = new String[]{"-p", "8081"};
+    final var changed = snapshot.reparse(cmdLines);
+    cmdLines[1] = "8082";
+
+    assertThrows(IllegalOptionValueException.class, () -> changed.reparse("-p", "80c"));
+
+    assertThat(changed.reparse("-p", "8081").converted()).isEqualTo(0);
+  }
+
+  @Test
+  void should_report_unknown_option_in_strict_mode() {
+    final var snapshot = parser.strict().snapshot("-p", "8080");
+
+    final var e = assertThrows(UnknownOptionException.class,
+        () -> snapshot.reparse("-p", "8080", "-x"));
+
+    assertThat(e.getOption()).isEqualTo("x");
+  }
+
+  record ServerOptions(@Option("l") boolean logging, @Option("p") int port,
+                       @Option("g") List<String> group) {
+
+  }
+}
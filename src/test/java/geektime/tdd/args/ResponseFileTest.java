@@ -0,0 +1,83 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.exception.ArgumentParseException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 命令行参数文件
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ResponseFileTest {
+
+  @Test
+  void should_split_arguments_by_whitespace_and_new_line() {
+    assertThat(strings("-g host-1  host-2\r\n-d 1 -2\n"))
+        .containsExactly("-g", "host-1", "host-2", "-d", "1", "-2");
+  }
+
+  // 不含引号的ASCII参数不复制字节
+  @Test
+  void should_return_view_for_plain_ascii_argument() {
+    final var tokens = tokens("-g host-1");
+    assertThat(tokens.get(1)).isInstanceOf(ResponseFile.AsciiSequence.class);
+    assertThat(tokens.get(1).subSequence(1, 4).toString()).isEqualTo("ost");
+  }
+
+  @Test
+  void should_compare_views_by_content() {
+    final var tokens = tokens("-g host-1 host-1 host-2");
+
+    assertThat(tokens.get(1)).isEqualTo(tokens.get(2));
+    assertThat(tokens.get(1)).isNotEqualTo(tokens.get(3));
+    assertThat(tokens.get(1).hashCode()).isEqualTo("host-1".hashCode());
+    assertThat(tokens.get(1).subSequence(0, 4)).isEqualTo(tokens.get(3).subSequence(0, 4));
+    assertThat(Set.of(tokens.get(1), tokens.get(3))).contains(tokens.get(2));
+  }
+
+  @Test
+  void should_decode_quoted_and_utf8_argument() {
+    assertThat(strings("\"my host\" 'a b'c 日志 \"q\\\"x\""))
+        .containsExactly("my host", "a bc", "日志", "q\"x");
+  }
+
+  @Test
+  void should_throw_argument_parse_exception_if_quote_not_closed() {
+    assertThrows(ArgumentParseException.class, () -> tokens("-d 'usr"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"@options.args", "@/usr/options"})
+  void should_recognize_response_file_reference(String token) {
+    assertThat(ResponseFile.isReference(token)).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"@", "options.args", "-g"})
+  void should_not_recognize_response_file_reference(String token) {
+    assertThat(ResponseFile.isReference(token)).isFalse();
+  }
+
+  private static List<CharSequence> tokens(String content) {
+    final List<CharSequence> tokens = new ArrayList<>();
+    ResponseFile.tokenize(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)), tokens::add);
+    return tokens;
+  }
+
+  private static List<String> strings(String content) {
+    return tokens(content).stream().map(CharSequence::toString).toList();
+  }
+}
@@ -0,0 +1,128 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.ArgumentParseException;
+import geektime.tdd.args.exception.InsufficientArgumentsException;
+import geektime.tdd.args.exception.UnknownOptionException;
+import geektime.tdd.args.exception.UnknownSubcommandException;
+import java.util.ArrayList;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SubcommandsTest {
+
+  private final Subcommands subcommands = Subcommands.builder()
+      .command("import", ImportOptions.class)
+      .command("export", ExportOptions.class.getName())
+      .command("imports", "geektime.tdd.args.NoSuchOptions")
+      .build();
+
+  @Test
+  void should_parse_options_of_selected_subcommand() {
+    final var command = Args.parse(subcommands, "import", "-f", "x.csv");
+
+    assertThat(command.name()).isEqualTo("import");
+    assertThat(command.options(ImportOptions.class)).isEqualTo(new ImportOptions("x.csv"));
+  }
+
+  @Test
+  void should_load_options_class_registered_by_name_on_selection() {
+    final var command = subcommands.parse("export", "-o", "y.csv");
+
+    assertThat(command.options()).isEqualTo(new ExportOptions("y.csv"));
+  }
+
+  @Test
+  void should_not_load_options_class_until_selected() {
+    // imports 的目标对象类不存在，只有选中时才报错
+    assertThat(subcommands.parse("import", "-f", "x.csv").name()).isEqualTo("import");
+
+    final var e = assertThrows(ArgumentParseException.class, () -> subcommands.parse("imports"));
+
+    assertThat(e.getCause()).isInstanceOf(ClassNotFoundException.class);
+  }
+
+  @Test
+  void should_throw_for_unknown_subcommand() {
+    final var e = assertThrows(UnknownSubcommandException.class,
+        () -> subcommands.parse("impor", "-f", "x.csv"));
+
+    assertThat(e.getSubcommand()).isEqualTo("impor");
+  }
+
+  @Test
+  void should_throw_for_missing_subcommand() {
+    final var e = assertThrows(UnknownSubcommandException.class, () -> subcommands.parse());
+
+    assertThat(e.getSubcommand()).isEmpty();
+  }
+
+  @Test
+  void should_report_unknown_option_of_subcommand_in_strict_mode() {
+    final var e = assertThrows(UnknownOptionException.class,
+        () -> subcommands.strict().parse("import", "-f", "x.csv", "-o", "y.csv"));
+
+    assertThat(e.getOption()).isEqualTo("o");
+    assertThat(subcommands.parse("import", "-f", "x.csv", "-o", "y.csv").options())
+        .isEqualTo(new ImportOptions("x.csv"));
+  }
+
+  @Test
+  void should_report_token_index_in_full_command_line() {
+    final var unknown = assertThrows(UnknownOptionException.class,
+        () -> subcommands.strict().parse("import", "-f", "x.csv", "-o", "y.csv"));
+    final var missing = assertThrows(InsufficientArgumentsException.class,
+        () -> subcommands.parse("import", "-f"));
+
+    assertThat(unknown.getTokenIndex()).isEqualTo(3);
+    assertThat(missing.getTokenIndex()).isEqualTo(1);
+  }
+
+  @Test
+  void should_treat_subcommand_name_as_placeholder() {
+    final var dashed = Subcommands.builder().command("-f", ImportOptions.class).build();
+
+    assertThat(dashed.parse("-f", "-f", "x.csv").options()).isEqualTo(new ImportOptions("x.csv"));
+  }
+
+  @Test
+  void should_apply_class_loader_set_after_registration() {
+    final var requested = new ArrayList<String>();
+    final var loader = new ClassLoader(getClass().getClassLoader()) {
+      @Override
+      protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        requested.add(name);
+        return super.loadClass(name, resolve);
+      }
+    };
+    final var commands = Subcommands.builder()
+        .command("export", ExportOptions.class.getName())
+        .classLoader(loader)
+        .build();
+
+    assertThat(commands.parse("export", "-o", "y.csv").options())
+        .isEqualTo(new ExportOptions("y.csv"));
+    assertThat(requested).contains(ExportOptions.class.getName());
+  }
+
+  @Test
+  void should_reject_duplicated_subcommand() {
+    final var builder = Subcommands.builder().command("import", ImportOptions.class);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> builder.command("import", ExportOptions.class));
+  }
+
+  record ImportOptions(@Option("f") String file) {
+
+  }
+
+  record ExportOptions(@Option("o") String output) {
+
+  }
+}
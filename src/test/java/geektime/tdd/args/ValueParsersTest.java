@@ -0,0 +1,90 @@
+package geektime.tdd.args;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * 带单位或分隔符的选项值解释
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ValueParsersTest {
+
+  @Test
+  void should_parse_duration_with_unit() {
+    assertThat(ValueParsers.parseDuration("30s")).isEqualTo(Duration.ofSeconds(30));
+    assertThat(ValueParsers.parseDuration("5m")).isEqualTo(Duration.ofMinutes(5));
+    assertThat(ValueParsers.parseDuration("2h")).isEqualTo(Duration.ofHours(2));
+    assertThat(ValueParsers.parseDuration("1d")).isEqualTo(Duration.ofDays(1));
+    assertThat(ValueParsers.parseDuration("250ms")).isEqualTo(Duration.ofMillis(250));
+    assertThat(ValueParsers.parseDuration("7us")).isEqualTo(Duration.ofNanos(7000));
+    assertThat(ValueParsers.parseDuration("9ns")).isEqualTo(Duration.ofNanos(9));
+  }
+
+  @Test
+  void should_parse_compound_and_signed_duration() {
+    assertThat(ValueParsers.parseDuration("1h30m15s"))
+        .isEqualTo(Duration.ofHours(1).plusMinutes(30).plusSeconds(15));
+    assertThat(ValueParsers.parseDuration("-1m30s")).isEqualTo(Duration.ofSeconds(-90));
+    assertThat(ValueParsers.parseDuration("+1500ms")).isEqualTo(Duration.ofMillis(1500));
+    assertThat(ValueParsers.parseDuration("0")).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void should_parse_iso_8601_duration() {
+    assertThat(ValueParsers.parseDuration("PT30S")).isEqualTo(Duration.ofSeconds(30));
+    assertThrows(DateTimeParseException.class, () -> ValueParsers.parseDuration("PT"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "-", "30", "s", "30x", "30 s", "1h30", "5M",
+      "9223372036854775807d"})
+  void should_throw_illegal_argument_exception_for_invalid_duration(String chars) {
+    assertThrows(IllegalArgumentException.class, () -> ValueParsers.parseDuration(chars));
+  }
+
+  @Test
+  void should_parse_socket_address_without_name_resolution() {
+    final var address = ValueParsers.parseSocketAddress("localhost:8080");
+
+    assertThat(address).isEqualTo(InetSocketAddress.createUnresolved("localhost", 8080));
+    assertThat(address.isUnresolved()).isTrue();
+  }
+
+  @Test
+  void should_parse_ipv6_and_wildcard_socket_address() {
+    final var address = ValueParsers.parseSocketAddress("[::1]:443");
+
+    assertThat(address.isUnresolved()).isFalse();
+    assertThat(address.getAddress().isLoopbackAddress()).isTrue();
+    assertThat(address.getPort()).isEqualTo(443);
+    assertThat(ValueParsers.parseSocketAddress(":8080")).isEqualTo(new InetSocketAddress(8080));
+  }
+
+  @Test
+  void should_parse_ipv4_literal_as_resolved_address() {
+    final var address = ValueParsers.parseSocketAddress("127.0.0.1:8080");
+
+    assertThat(address.isUnresolved()).isFalse();
+    assertThat(address.getAddress().getHostAddress()).isEqualTo("127.0.0.1");
+    assertThat(address.getPort()).isEqualTo(8080);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"localhost", "localhost:", "localhost:http", "localhost:65536",
+      "::1:443", "[]:443", "host:-1", "256.0.0.1:80", "127.1:80", "[localhost]:80",
+      "[::g]:80", "1.2.3.4.5:80", "1..2.3:80", "1.2.3.:80", "1.2.3.0001:80"})
+  void should_throw_illegal_argument_exception_for_invalid_socket_address(String chars) {
+    assertThrows(IllegalArgumentException.class, () -> ValueParsers.parseSocketAddress(chars));
+  }
+}
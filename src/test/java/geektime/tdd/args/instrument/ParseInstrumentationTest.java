@@ -0,0 +1,142 @@
+package geektime.tdd.args.instrument;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import geektime.tdd.args.Args;
+import geektime.tdd.args.ArgsParser;
+import geektime.tdd.args.ErrorKind;
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exception.IllegalOptionValueException;
+import geektime.tdd.args.exception.TooManyArgumentsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 命令行参数解释埋点
+ *
+ * @author 李小平
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ParseInstrumentationTest {
+
+  private final RecordingInstrumentation recording = new RecordingInstrumentation();
+
+  @AfterEach
+  void uninstall() {
+    Instrumentations.install(ParseInstrumentation.NOOP);
+  }
+
+  @Test
+  void should_use_noop_instrumentation_by_default() {
+    assertThat(Instrumentations.current()).isSameAs(ParseInstrumentation.NOOP);
+  }
+
+  @Test
+  void should_record_phases_and_present_options() {
+    Instrumentations.install(recording);
+
+    Args.parse(ServerOptions.class, "-p", "8080", "-g", "a", "b", "c");
+
+    assertThat(recording.events).containsExactly(
+        "option ServerOptions p 1", "option ServerOptions g 3", "parsed ServerOptions");
+    assertThat(recording.nanos.stream().allMatch(nanos -> nanos >= 0)).isTrue();
+  }
+
+  @Test
+  void should_record_errors_by_kind_and_exception_type() {
+    Instrumentations.install(recording);
+
+    assertThrows(TooManyArgumentsException.class,
+        () -> Args.parse(ServerOptions.class, "-p", "8080", "8081"));
+    assertThrows(IllegalOptionValueException.class,
+        () -> Args.parse(ServerOptions.class, "-p", "80c"));
+    ArgsParser.of(ServerOptions.class).tryParse("-p");
+
+    assertThat(recording.events).containsExactly(
+        "option ServerOptions p 2",
+        "failed ServerOptions p TOO_MANY_ARGUMENTS TooManyArgumentsException",
+        "option ServerOptions p 1",
+        "failed ServerOptions p ILLEGAL_VALUE IllegalOptionValueException",
+        "option ServerOptions p 0",
+        "failed ServerOptions p INSUFFICIENT_ARGUMENTS InsufficientArgumentsException");
+  }
+
+  @Test
+  void should_record_unknown_option_in_strict_mode() {
+    Instrumentations.install(recording);
+
+    ArgsParser.of(ServerOptions.class).strict().tryParse("-x");
+
+    assertThat(recording.events).containsExactly(
+        "failed ServerOptions x UNKNOWN_OPTION UnknownOptionException");
+  }
+
+  @Test
+  void should_commit_jfr_events(@TempDir Path directory) throws Exception {
+    Instrumentations.install(new JfrParseInstrumentation());
+    final var file = directory.resolve("args.jfr");
+
+    try (var jfr = new Recording()) {
+      jfr.enable("geektime.tdd.args.Parse");
+      jfr.enable("geektime.tdd.args.Option");
+      jfr.enable("geektime.tdd.args.ParseError");
+      jfr.start();
+      Args.parse(ServerOptions.class, "-p", "8080", "-g", "a", "b");
+      assertThrows(TooManyArgumentsException.class,
+          () -> Args.parse(ServerOptions.class, "-p", "1", "2"));
+      jfr.stop();
+      jfr.dump(file);
+    }
+
+    final List<String> names = new ArrayList<>();
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      names.add(event.getEventType().getName());
+      if (event.getEventType().getName().equals("geektime.tdd.args.ParseError")) {
+        assertThat(event.getString("kind")).isEqualTo("TOO_MANY_ARGUMENTS");
+      }
+    }
+    assertThat(names).contains(
+        "geektime.tdd.args.Parse", "geektime.tdd.args.Option", "geektime.tdd.args.ParseError");
+    assertThat(Files.size(file)).isGreaterThan(0L);
+  }
+
+  public record ServerOptions(@Option("p") int port, @Option("g") String[] group) {
+
+  }
+
+  static class RecordingInstrumentation implements ParseInstrumentation {
+
+    private final List<String> events = new ArrayList<>();
+    private final List<Long> nanos = new ArrayList<>();
+
+    @Override
+    public void parsed(Class<?> optionsClass, long tokenizeNanos, long convertNanos,
+        long instantiateNanos) {
+      events.add("parsed " + optionsClass.getSimpleName());
+      nanos.addAll(List.of(tokenizeNanos, convertNanos, instantiateNanos));
+    }
+
+    @Override
+    public void optionPresent(Class<?> optionsClass, String option, int valueCount) {
+      events.add("option " + optionsClass.getSimpleName() + " " + option + " " + valueCount);
+    }
+
+    @Override
+    public void failed(Class<?> optionsClass, String option, ErrorKind kind,
+        Class<? extends Throwable> exception) {
+      events.add("failed " + optionsClass.getSimpleName() + " " + option + " " + kind + " "
+          + exception.getSimpleName());
+    }
+  }
+}